@@ -1,13 +1,18 @@
 package com.turbogerm.hellhopper;
 
+import android.content.ComponentCallbacks2;
 import android.os.Bundle;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.turbogerm.hellhopper.HellHopper;
 import com.turbogerm.hellhopper.init.InitData;
 
 public class MainActivity extends AndroidApplication {
+    
+    private HellHopper mGame;
+    
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -19,6 +24,33 @@ public class MainActivity extends AndroidApplication {
         
         InitData initData = new InitData();
         
-        initialize(new HellHopper(initData), cfg);
+        mGame = new HellHopper(initData);
+        initialize(mGame, cfg);
     }
-}
\ No newline at end of file
+    
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        trimMemory();
+    }
+    
+    // only called on api 14 and later; ui hidden level is sent on every pause and is not memory pressure
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            trimMemory();
+        }
+    }
+    
+    // assets have to be unloaded on the rendering thread
+    private void trimMemory() {
+        Gdx.app.postRunnable(new Runnable() {
+            
+            @Override
+            public void run() {
+                mGame.trimMemory();
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.benchmark;
+
+import com.badlogic.gdx.graphics.Color;
+import com.turbogerm.hellhopper.game.render.BackgroundColorInterpolator;
+
+final class BackgroundColorInterpolatorBenchmark extends BenchmarkBase {
+    
+    private static final float RISE_HEIGHT = 1000.0f;
+    private static final float HEIGHT_CHANGE = 0.37f;
+    
+    private final boolean mIsEndless;
+    private BackgroundColorInterpolator mBackgroundColorInterpolator;
+    private float mCurrentHeight;
+    
+    public BackgroundColorInterpolatorBenchmark(boolean isEndless) {
+        super("BackgroundColorInterpolator.getBackgroundColor", "rise", isEndless ? "endless" : "fixed");
+        
+        mIsEndless = isEndless;
+    }
+    
+    @Override
+    public void setUp() {
+        mBackgroundColorInterpolator = new BackgroundColorInterpolator();
+        mBackgroundColorInterpolator.setRiseHeight(mIsEndless ? Float.POSITIVE_INFINITY : RISE_HEIGHT);
+        mCurrentHeight = 0.0f;
+    }
+    
+    @Override
+    public int runOperation() {
+        mCurrentHeight += HEIGHT_CHANGE;
+        if (mCurrentHeight > RISE_HEIGHT) {
+            mCurrentHeight -= RISE_HEIGHT;
+        }
+        
+        Color color = mBackgroundColorInterpolator.getBackgroundColor(mCurrentHeight);
+        return (int) (color.r * 255.0f);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.benchmark;
+
+// a single measured operation; runOperation() returns a value that the runner
+// consumes so the measured work cannot be optimized away
+public abstract class BenchmarkBase {
+    
+    private final String mName;
+    private final String mParamName;
+    private final String mParamValue;
+    
+    public BenchmarkBase(String name, String paramName, String paramValue) {
+        mName = name;
+        mParamName = paramName;
+        mParamValue = paramValue;
+    }
+    
+    public void setUp() {
+    }
+    
+    public abstract int runOperation();
+    
+    public String getName() {
+        return mName;
+    }
+    
+    public String getParamName() {
+        return mParamName;
+    }
+    
+    public String getParamValue() {
+        return mParamValue;
+    }
+    
+    @Override
+    public String toString() {
+        return mParamName != null ? String.format("%s (%s=%s)", mName, mParamName, mParamValue) : mName;
+    }
+}
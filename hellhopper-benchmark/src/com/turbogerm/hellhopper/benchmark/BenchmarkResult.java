@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.benchmark;
+
+final class BenchmarkResult {
+    
+    private final BenchmarkBase mBenchmark;
+    private final double[] mIterationScores;
+    
+    // same confidence level as JMH score error
+    private static final double CONFIDENCE = 0.999;
+    
+    private final double mScore;
+    private final double mScoreStandardDeviation;
+    private final double mScoreError;
+    
+    public BenchmarkResult(BenchmarkBase benchmark, double[] iterationScores) {
+        mBenchmark = benchmark;
+        mIterationScores = iterationScores;
+        
+        double sum = 0.0;
+        for (double score : iterationScores) {
+            sum += score;
+        }
+        
+        mScore = sum / iterationScores.length;
+        
+        double squaredDeviationSum = 0.0;
+        for (double score : iterationScores) {
+            squaredDeviationSum += (score - mScore) * (score - mScore);
+        }
+        
+        // error is the half width of the confidence interval of the mean, as in JMH
+        int n = iterationScores.length;
+        if (n > 1) {
+            mScoreStandardDeviation = Math.sqrt(squaredDeviationSum / (n - 1));
+            double t = getStudentTQuantile(1.0 - (1.0 - CONFIDENCE) / 2.0, n - 1);
+            mScoreError = t * mScoreStandardDeviation / Math.sqrt(n);
+        } else {
+            mScoreStandardDeviation = 0.0;
+            mScoreError = 0.0;
+        }
+    }
+    
+    public BenchmarkBase getBenchmark() {
+        return mBenchmark;
+    }
+    
+    public double[] getIterationScores() {
+        return mIterationScores;
+    }
+    
+    public double getScore() {
+        return mScore;
+    }
+    
+    public double getScoreError() {
+        return mScoreError;
+    }
+    
+    public double getScoreStandardDeviation() {
+        return mScoreStandardDeviation;
+    }
+    
+    // cumulative distribution is increasing, so the quantile is found by bisection
+    private static double getStudentTQuantile(double p, int degreesOfFreedom) {
+        double low = 0.0;
+        double high = 1.0;
+        while (getStudentTCdf(high, degreesOfFreedom) < p) {
+            high *= 2.0;
+        }
+        
+        for (int i = 0; i < 100; i++) {
+            double middle = (low + high) / 2.0;
+            if (getStudentTCdf(middle, degreesOfFreedom) < p) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        
+        return (low + high) / 2.0;
+    }
+    
+    // only for t >= 0
+    private static double getStudentTCdf(double t, int degreesOfFreedom) {
+        double x = degreesOfFreedom / (degreesOfFreedom + t * t);
+        return 1.0 - 0.5 * getRegularizedIncompleteBeta(degreesOfFreedom / 2.0, 0.5, x);
+    }
+    
+    private static double getRegularizedIncompleteBeta(double a, double b, double x) {
+        if (x <= 0.0) {
+            return 0.0;
+        } else if (x >= 1.0) {
+            return 1.0;
+        }
+        
+        double front = Math.exp(getLogGamma(a + b) - getLogGamma(a) - getLogGamma(b) +
+                a * Math.log(x) + b * Math.log(1.0 - x));
+        
+        // continued fraction converges quickly only below this point, symmetry is used above it
+        if (x < (a + 1.0) / (a + b + 2.0)) {
+            return front * getIncompleteBetaFraction(a, b, x) / a;
+        } else {
+            return 1.0 - front * getIncompleteBetaFraction(b, a, 1.0 - x) / b;
+        }
+    }
+    
+    // modified Lentz evaluation of the incomplete beta continued fraction
+    private static double getIncompleteBetaFraction(double a, double b, double x) {
+        final double tiny = 1e-300;
+        final double epsilon = 1e-15;
+        
+        double c = 1.0;
+        double d = 1.0 - (a + b) * x / (a + 1.0);
+        d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+        double fraction = d;
+        
+        for (int m = 1; m <= 300; m++) {
+            int m2 = 2 * m;
+            
+            double coefficient = m * (b - m) * x / ((a + m2 - 1.0) * (a + m2));
+            d = 1.0 + coefficient * d;
+            d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1.0 + coefficient / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            fraction *= d * c;
+            
+            coefficient = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1.0));
+            d = 1.0 + coefficient * d;
+            d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1.0 + coefficient / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            fraction *= delta;
+            
+            if (Math.abs(delta - 1.0) < epsilon) {
+                break;
+            }
+        }
+        
+        return fraction;
+    }
+    
+    // lanczos approximation
+    private static double getLogGamma(double x) {
+        final double[] coefficients = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5 };
+        
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (int i = 0; i < coefficients.length; i++) {
+            y += 1.0;
+            series += coefficients[i] / y;
+        }
+        
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
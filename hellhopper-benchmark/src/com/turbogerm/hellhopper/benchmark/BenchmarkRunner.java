@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.game.CharacterCollisionBenchmark;
+import com.turbogerm.hellhopper.game.GameAreaUpdateStepBenchmark;
+import com.turbogerm.hellhopper.game.RiseHeightBenchmark;
+import com.turbogerm.hellhopper.game.RisePlatformsUpdateBenchmark;
+import com.turbogerm.hellhopper.game.generator.BenchmarkRiseSections;
+import com.turbogerm.hellhopper.game.generator.ParallelRiseSectionGeneratorBenchmark;
+import com.turbogerm.hellhopper.game.generator.RiseSectionCacheBenchmark;
+import com.turbogerm.hellhopper.game.generator.RiseSectionGeneratorBenchmark;
+import com.turbogerm.hellhopper.game.generator.RiseSectionValidatorBenchmark;
+import com.turbogerm.hellhopper.game.generator.TallRiseSectionGeneratorBenchmark;
+
+// runs all benchmarks (or those whose name contains the filter) and writes the results as JSON;
+// hellhopper-android/assets must be on the classpath (it is linked as a source folder in the project)
+// usage: BenchmarkRunner [result file] [name filter]
+public class BenchmarkRunner {
+    
+    private static final String DEFAULT_RESULT_FILE = "benchmark-results.json";
+    
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final long ITERATION_DURATION = 200L * 1000L * 1000L;
+    // operations are timed in batches so that timer overhead does not dominate short operations
+    private static final long MIN_BATCH_DURATION = 1000L * 1000L;
+    
+    private static volatile int sSink;
+    
+    public static void main(String[] args) throws IOException {
+        String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+        String nameFilter = args.length > 1 ? args[1] : null;
+        
+        Gdx.files = new LwjglFiles();
+        
+        Array<BenchmarkResult> results = new Array<BenchmarkResult>();
+        for (BenchmarkBase benchmark : getBenchmarks()) {
+            if (nameFilter != null && !benchmark.getName().contains(nameFilter)) {
+                continue;
+            }
+            
+            BenchmarkResult result = run(benchmark);
+            System.out.println(String.format("%-70s %12.1f +- %8.1f ns/op",
+                    benchmark, result.getScore(), result.getScoreError()));
+            results.add(result);
+        }
+        
+        Writer writer = new FileWriter(resultFile);
+        try {
+            writer.write(getResultsJson(results));
+        } finally {
+            writer.close();
+        }
+        
+        System.out.println(String.format("%d results written to %s", results.size, resultFile));
+    }
+    
+    private static Array<BenchmarkBase> getBenchmarks() {
+        Array<BenchmarkBase> benchmarks = new Array<BenchmarkBase>();
+        
+        for (String density : BenchmarkRiseSections.DENSITIES) {
+            benchmarks.add(new GameAreaUpdateStepBenchmark(density));
+        }
+        
+        for (String density : BenchmarkRiseSections.DENSITIES) {
+            benchmarks.add(new RisePlatformsUpdateBenchmark(density));
+        }
+        
+        benchmarks.add(new RiseHeightBenchmark(1000));
+        benchmarks.add(new RiseHeightBenchmark(10000));
+        benchmarks.add(new RiseHeightBenchmark(100000));
+        
+        benchmarks.add(new CharacterCollisionBenchmark(CharacterCollisionBenchmark.CHARACTER, false));
+        benchmarks.add(new CharacterCollisionBenchmark(CharacterCollisionBenchmark.CHARACTER, true));
+        benchmarks.add(new CharacterCollisionBenchmark(CharacterCollisionBenchmark.PLATFORM, false));
+        benchmarks.add(new CharacterCollisionBenchmark(CharacterCollisionBenchmark.PLATFORM, true));
+        
+        for (String density : BenchmarkRiseSections.DENSITIES) {
+            benchmarks.add(new RiseSectionGeneratorBenchmark(density));
+        }
+        for (String density : BenchmarkRiseSections.DENSITIES) {
+            benchmarks.add(new RiseSectionValidatorBenchmark(density));
+        }
+        benchmarks.add(new TallRiseSectionGeneratorBenchmark(10000));
+        benchmarks.add(new ParallelRiseSectionGeneratorBenchmark(7));
+        benchmarks.add(new ParallelRiseSectionGeneratorBenchmark(100));
+        benchmarks.add(new RiseSectionCacheBenchmark(false));
+        benchmarks.add(new RiseSectionCacheBenchmark(true));
+        
+        benchmarks.add(new RiseSectionDataReaderBenchmark("simpleflametransition"));
+        benchmarks.add(new RiseSectionDataReaderBenchmark("test"));
+        benchmarks.add(new RiseSectionsPackBenchmark("test"));
+        
+        benchmarks.add(new BackgroundColorInterpolatorBenchmark(false));
+        benchmarks.add(new BackgroundColorInterpolatorBenchmark(true));
+        
+        return benchmarks;
+    }
+    
+    private static BenchmarkResult run(BenchmarkBase benchmark) {
+        benchmark.setUp();
+        
+        int batchSize = 1;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            batchSize = runWarmupIteration(benchmark, batchSize);
+        }
+        
+        double[] iterationScores = new double[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            iterationScores[i] = runMeasurementIteration(benchmark, batchSize);
+        }
+        
+        return new BenchmarkResult(benchmark, iterationScores);
+    }
+    
+    // grows the batch size until a batch takes at least MIN_BATCH_DURATION
+    private static int runWarmupIteration(BenchmarkBase benchmark, int batchSize) {
+        long iterationStart = System.nanoTime();
+        while (System.nanoTime() - iterationStart < ITERATION_DURATION) {
+            long batchDuration = runBatch(benchmark, batchSize);
+            if (batchDuration < MIN_BATCH_DURATION) {
+                batchSize *= 2;
+            }
+        }
+        
+        return batchSize;
+    }
+    
+    private static double runMeasurementIteration(BenchmarkBase benchmark, int batchSize) {
+        long operations = 0;
+        long duration = 0;
+        while (duration < ITERATION_DURATION) {
+            duration += runBatch(benchmark, batchSize);
+            operations += batchSize;
+        }
+        
+        return (double) duration / operations;
+    }
+    
+    private static long runBatch(BenchmarkBase benchmark, int batchSize) {
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < batchSize; i++) {
+            sink += benchmark.runOperation();
+        }
+        long duration = System.nanoTime() - start;
+        sSink += sink;
+        
+        return duration;
+    }
+    
+    // same layout as JMH JSON results, score error is the 99.9% confidence interval half width;
+    // standard deviation is an extra field
+    private static String getResultsJson(Array<BenchmarkResult> results) {
+        StringBuilder json = new StringBuilder();
+        json.append("[\n");
+        for (int i = 0; i < results.size; i++) {
+            BenchmarkResult result = results.get(i);
+            BenchmarkBase benchmark = result.getBenchmark();
+            
+            json.append("    {\n");
+            json.append("        \"benchmark\" : \"").append(benchmark.getName()).append("\",\n");
+            json.append("        \"mode\" : \"avgt\",\n");
+            json.append("        \"warmupIterations\" : ").append(WARMUP_ITERATIONS).append(",\n");
+            json.append("        \"measurementIterations\" : ").append(MEASUREMENT_ITERATIONS).append(",\n");
+            if (benchmark.getParamName() != null) {
+                json.append("        \"params\" : { \"").append(benchmark.getParamName()).append("\" : \"")
+                        .append(benchmark.getParamValue()).append("\" },\n");
+            }
+            json.append("        \"primaryMetric\" : {\n");
+            json.append("            \"score\" : ").append(result.getScore()).append(",\n");
+            json.append("            \"scoreError\" : ").append(result.getScoreError()).append(",\n");
+            json.append("            \"scoreConfidence\" : [ ").append(result.getScore() - result.getScoreError())
+                    .append(", ").append(result.getScore() + result.getScoreError()).append(" ],\n");
+            json.append("            \"scoreStdev\" : ").append(result.getScoreStandardDeviation()).append(",\n");
+            json.append("            \"scoreUnit\" : \"ns/op\",\n");
+            json.append("            \"rawData\" : [ [ ");
+            double[] iterationScores = result.getIterationScores();
+            for (int j = 0; j < iterationScores.length; j++) {
+                if (j > 0) {
+                    json.append(", ");
+                }
+                json.append(iterationScores[j]);
+            }
+            json.append(" ] ]\n");
+            json.append("        }\n");
+            json.append(i < results.size - 1 ? "    },\n" : "    }\n");
+        }
+        json.append("]\n");
+        
+        return json.toString();
+    }
+}
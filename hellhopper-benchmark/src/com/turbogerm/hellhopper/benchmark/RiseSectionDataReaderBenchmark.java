@@ -21,24 +21,31 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game.platforms.movement;
+package com.turbogerm.hellhopper.benchmark;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionDataReader;
 
-public final class NullPlatformMovement extends PlatformMovementBase {
+final class RiseSectionDataReaderBenchmark extends BenchmarkBase {
     
-    public NullPlatformMovement(Vector2 initialPosition, AssetManager assetManager) {
-        super(initialPosition, assetManager);
+    private final String mRiseSectionName;
+    private FileHandle mFileHandle;
+    
+    public RiseSectionDataReaderBenchmark(String riseSectionName) {
+        super("RiseSectionDataReader.read", "riseSection", riseSectionName);
+        
+        mRiseSectionName = riseSectionName;
     }
     
     @Override
-    public void render(SpriteBatch batch, float delta, float alpha) {
+    public void setUp() {
+        mFileHandle = Gdx.files.internal(ResourceNames.getRiseSectionPath(mRiseSectionName));
     }
     
     @Override
-    public boolean hasVerticalMovement() {
-        return false;
+    public int runOperation() {
+        return RiseSectionDataReader.read(mFileHandle).getPlatformDataList().size;
     }
 }
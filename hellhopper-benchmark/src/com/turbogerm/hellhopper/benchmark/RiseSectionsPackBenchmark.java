@@ -21,22 +21,32 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game.platforms.features;
+package com.turbogerm.hellhopper.benchmark;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
-import com.turbogerm.hellhopper.util.ExceptionThrower;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionsPack;
 
-public final class PlatformFeatureFactory {
+final class RiseSectionsPackBenchmark extends BenchmarkBase {
     
-public static PlatformFeatureBase create(PlatformFeatureData featureData, AssetManager assetManager) {
+    private final String mRiseSectionName;
+    private FileHandle mFileHandle;
+    
+    public RiseSectionsPackBenchmark(String riseSectionName) {
+        super("RiseSectionsPack.read", "riseSection", riseSectionName);
         
-        String featureType = featureData.getFeatureType();
-        if (PlatformFeatureData.JUMP_BOOST.equals(featureType)) {
-            return new JumpBoostPlatformFeature(featureData, assetManager);
-        } else {
-            ExceptionThrower.throwException("Invalid platform feature type: %s", featureType);
-            return null;
-        }
+        mRiseSectionName = riseSectionName;
+    }
+    
+    @Override
+    public void setUp() {
+        mFileHandle = Gdx.files.internal(ResourceNames.RISE_SECTIONS_PACK);
+    }
+    
+    // reads the whole pack, which holds every prebuilt rise section
+    @Override
+    public int runOperation() {
+        return RiseSectionsPack.read(mFileHandle).getRiseSection(mRiseSectionName).getPlatformDataList().size;
     }
 }
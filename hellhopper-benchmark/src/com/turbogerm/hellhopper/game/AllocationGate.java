@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game;
+
+import java.lang.management.ManagementFactory;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.game.generator.RiseGenerator;
+import com.turbogerm.hellhopper.game.generator.RiseSectionSource;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+// drives GameArea.update through a steered endless climb and measures the bytes each frame allocates
+// with the thread allocation counter; exits with status 1 if any steady-state frame allocates, so it
+// can gate a build. Frames that materialize a rise section create its platforms by design, and frames
+// that restart the climb after a fall create a new rise, so both are reported but not gated.
+// run it with -Xint: the interpreter allocates exactly what the code allocates, while with the JIT
+// escape analysis can hide allocations and deoptimization occasionally allocates on its own
+// hellhopper-android/assets must be on the classpath, like for BenchmarkRunner
+// usage: java -Xint AllocationGate [measured frames] [seed]
+public class AllocationGate {
+    
+    private static final int DEFAULT_MEASURED_FRAMES = 20000;
+    private static final long DEFAULT_SEED = 42L;
+    private static final int WARMUP_FRAMES = 5000;
+    private static final float FRAME_DELTA = 1.0f / 60.0f;
+    
+    // the character never falls out of the game, so a climb that stops progressing is restarted
+    private static final int STALL_FRAMES = 600;
+    
+    private static final float STEERING_GAIN = 8.0f;
+    private static final float MAX_STEERING_SPEED = GameCharacter.DEFAULT_HORIZONTAL_SPEED * 2.0f;
+    
+    private static com.sun.management.ThreadMXBean sThreadBean;
+    private static long sThreadId;
+    private static long sCounterOverhead;
+    
+    private static int sBestScore;
+    private static int sStalledFrames;
+    
+    public static void main(String[] args) {
+        int measuredFrames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEASURED_FRAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        
+        if (!ManagementFactory.getRuntimeMXBean().getInputArguments().contains("-Xint")) {
+            System.out.println("warning: not running with -Xint, results depend on the JIT");
+        }
+        
+        Gdx.files = new LwjglFiles();
+        sThreadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        sThreadId = Thread.currentThread().getId();
+        sCounterOverhead = measureCounterOverhead();
+        
+        GameArea gameArea = new GameArea();
+        CountingRiseSectionSource riseSectionSource = new CountingRiseSectionSource();
+        riseSectionSource.reset(RiseGenerator.generateEndless(seed));
+        gameArea.reset(riseSectionSource);
+        
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            runFrame(gameArea, riseSectionSource, seed + i);
+        }
+        
+        int steadyFrames = 0;
+        int allocatingSteadyFrames = 0;
+        long steadyBytes = 0L;
+        long maxSteadyFrameBytes = 0L;
+        int sectionFrames = 0;
+        long sectionBytes = 0L;
+        int restartFrames = 0;
+        long restartBytes = 0L;
+        for (int i = 0; i < measuredFrames; i++) {
+            int riseSectionCount = riseSectionSource.getCount();
+            long startBytes = getAllocatedBytes();
+            boolean isRestarted = runFrame(gameArea, riseSectionSource, seed + WARMUP_FRAMES + i);
+            long frameBytes = Math.max(getAllocatedBytes() - startBytes - sCounterOverhead, 0L);
+            
+            if (isRestarted) {
+                restartFrames++;
+                restartBytes += frameBytes;
+            } else if (riseSectionSource.getCount() != riseSectionCount) {
+                sectionFrames++;
+                sectionBytes += frameBytes;
+            } else {
+                steadyFrames++;
+                steadyBytes += frameBytes;
+                maxSteadyFrameBytes = Math.max(maxSteadyFrameBytes, frameBytes);
+                if (frameBytes > 0L) {
+                    allocatingSteadyFrames++;
+                }
+            }
+        }
+        
+        System.out.println(String.format("steady frames: %d, allocating: %d, %.2f B/frame, max %d B",
+                steadyFrames, allocatingSteadyFrames, getAverage(steadyBytes, steadyFrames), maxSteadyFrameBytes));
+        System.out.println(String.format("rise section frames: %d, %.0f B/frame",
+                sectionFrames, getAverage(sectionBytes, sectionFrames)));
+        System.out.println(String.format("restart frames: %d, %.0f B/frame",
+                restartFrames, getAverage(restartBytes, restartFrames)));
+        
+        if (allocatingSteadyFrames > 0) {
+            System.out.println("FAILED: steady-state frames allocate");
+            System.exit(1);
+        }
+        
+        System.out.println("PASSED");
+    }
+    
+    // returns true if the climb was restarted after the character burned or stalled
+    private static boolean runFrame(GameArea gameArea, CountingRiseSectionSource riseSectionSource, long seed) {
+        if (gameArea.isGameOver() || sStalledFrames >= STALL_FRAMES) {
+            riseSectionSource.reset(RiseGenerator.generateEndless(seed));
+            gameArea.reset(riseSectionSource);
+            sBestScore = 0;
+            sStalledFrames = 0;
+            return true;
+        }
+        
+        gameArea.update(FRAME_DELTA, getSteeringSpeed(gameArea));
+        
+        if (gameArea.getScore() > sBestScore) {
+            sBestScore = gameArea.getScore();
+            sStalledFrames = 0;
+        } else {
+            sStalledFrames++;
+        }
+        
+        return false;
+    }
+    
+    // steers towards the next platform above while rising and towards the highest platform below while falling
+    private static float getSteeringSpeed(GameArea gameArea) {
+        GameCharacter character = gameArea.getCharacter();
+        Vector2 characterPosition = character.getPosition();
+        float characterCenterX = characterPosition.x + GameCharacter.WIDTH / 2.0f;
+        boolean isRising = character.getSpeed().y > 0.0f;
+        
+        Platform target = null;
+        Array<Platform> platforms = gameArea.getVisiblePlatforms();
+        for (int i = 0; i < platforms.size; i++) {
+            Platform platform = platforms.get(i);
+            float platformY = platform.getY();
+            if (isRising) {
+                if (platformY > characterPosition.y &&
+                        (target == null || platformY < target.getY())) {
+                    target = platform;
+                }
+            } else {
+                if (platformY + PlatformData.PLATFORM_HEIGHT <= characterPosition.y &&
+                        (target == null || platformY > target.getY())) {
+                    target = platform;
+                }
+            }
+        }
+        
+        if (target == null) {
+            return 0.0f;
+        }
+        
+        float targetCenterX = target.getX() + PlatformData.PLATFORM_WIDTH / 2.0f;
+        return MathUtils.clamp((targetCenterX - characterCenterX) * STEERING_GAIN,
+                -MAX_STEERING_SPEED, MAX_STEERING_SPEED);
+    }
+    
+    private static long getAllocatedBytes() {
+        return sThreadBean.getThreadAllocatedBytes(sThreadId);
+    }
+    
+    // reading the counter may allocate by itself, that amount is subtracted from every frame
+    private static long measureCounterOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long start = getAllocatedBytes();
+            overhead = Math.min(overhead, getAllocatedBytes() - start);
+        }
+        
+        return overhead;
+    }
+    
+    private static double getAverage(long bytes, int frames) {
+        return frames > 0 ? (double) bytes / frames : 0.0;
+    }
+    
+    // counts rise sections taken by the rise, so frames that materialize a section can be told apart
+    private static final class CountingRiseSectionSource implements RiseSectionSource {
+        
+        private RiseSectionSource mRiseSectionSource;
+        private int mCount;
+        
+        public void reset(RiseSectionSource riseSectionSource) {
+            mRiseSectionSource = riseSectionSource;
+        }
+        
+        @Override
+        public RiseSectionData getNextRiseSection() {
+            mCount++;
+            return mRiseSectionSource.getNextRiseSection();
+        }
+        
+        @Override
+        public int getTotalStepRange() {
+            return mRiseSectionSource.getTotalStepRange();
+        }
+        
+        public int getCount() {
+            return mCount;
+        }
+    }
+}
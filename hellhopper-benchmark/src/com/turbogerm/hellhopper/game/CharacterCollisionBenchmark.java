@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.game.GameCharacter.CharCollisionData;
+import com.turbogerm.hellhopper.game.generator.ArrayRiseSectionSource;
+import com.turbogerm.hellhopper.game.generator.BenchmarkRiseSections;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+public final class CharacterCollisionBenchmark extends BenchmarkBase {
+    
+    // GameCharacter.isCollisionWithPlatform over all visible platforms
+    public static final int CHARACTER = 0;
+    // Platform.isCollision for a single platform
+    public static final int PLATFORM = 1;
+    
+    private static final int RISE_SECTION_COUNT = 2;
+    private static final int INITIAL_UPDATE_STEP_COUNT = 120;
+    private static final float UPDATE_STEP = 1.0f / 60.0f;
+    
+    private final int mTarget;
+    private final boolean mIsHit;
+    
+    private final Array<Platform> mPlatforms;
+    private Platform mPlatform;
+    private final Vector2 mC1;
+    private final Vector2 mC2;
+    private final Vector2 mIntersection;
+    private final CharCollisionData mCharCollisionData;
+    
+    public CharacterCollisionBenchmark(int target, boolean isHit) {
+        super(target == CHARACTER ? "GameCharacter.isCollisionWithPlatform" : "Platform.isCollision",
+                "result", isHit ? "hit" : "miss");
+        
+        mTarget = target;
+        mIsHit = isHit;
+        
+        mPlatforms = new Array<Platform>();
+        mC1 = new Vector2();
+        mC2 = new Vector2();
+        mIntersection = new Vector2();
+        mCharCollisionData = new CharCollisionData();
+    }
+    
+    @Override
+    public void setUp() {
+        GameArea gameArea = new GameArea();
+        gameArea.reset(new ArrayRiseSectionSource(
+                BenchmarkRiseSections.generate(BenchmarkRiseSections.DENSE, RISE_SECTION_COUNT), true));
+        for (int i = 0; i < INITIAL_UPDATE_STEP_COUNT; i++) {
+            gameArea.updateStep(0.0f, UPDATE_STEP);
+        }
+        
+        // crumble platforms stop colliding after the first hit
+        float highestTop = 0.0f;
+        for (Platform platform : gameArea.getVisiblePlatforms()) {
+            if (platform.getType() != Platform.CRUMBLE) {
+                mPlatforms.add(platform);
+                highestTop = Math.max(highestTop, platform.getY() + PlatformData.PLATFORM_HEIGHT);
+            }
+        }
+        
+        mPlatform = mPlatforms.get(mPlatforms.size / 2);
+        
+        if (mIsHit) {
+            float x = mPlatform.getX() + PlatformData.PLATFORM_WIDTH / 2.0f - GameCharacter.COLLISION_LINE_LENGTH / 2.0f;
+            float top = mPlatform.getY() + PlatformData.PLATFORM_HEIGHT;
+            mC1.set(x, top + 0.1f);
+            mC2.set(x, top - 0.1f);
+        } else {
+            mC1.set(GameArea.GAME_AREA_WIDTH / 2.0f, highestTop + 1.1f);
+            mC2.set(GameArea.GAME_AREA_WIDTH / 2.0f, highestTop + 0.9f);
+        }
+    }
+    
+    @Override
+    public int runOperation() {
+        boolean isCollision;
+        if (mTarget == CHARACTER) {
+            isCollision = GameCharacter.isCollisionWithPlatform(mPlatforms, mC1, mC2, mIntersection,
+                    mCharCollisionData);
+        } else {
+            isCollision = mPlatform.isCollision(mC1, mC2, mIntersection);
+        }
+        
+        return isCollision ? 1 : 0;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game;
+
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.game.generator.ArrayRiseSectionSource;
+import com.turbogerm.hellhopper.game.generator.BenchmarkRiseSections;
+
+public final class GameAreaUpdateStepBenchmark extends BenchmarkBase {
+    
+    private static final int RISE_SECTION_COUNT = 10;
+    private static final float UPDATE_STEP = 1.0f / 60.0f;
+    
+    private final String mDensity;
+    private GameArea mGameArea;
+    
+    public GameAreaUpdateStepBenchmark(String density) {
+        super("GameArea.updateStep", "density", density);
+        
+        mDensity = density;
+    }
+    
+    @Override
+    public void setUp() {
+        mGameArea = new GameArea();
+        mGameArea.reset(new ArrayRiseSectionSource(
+                BenchmarkRiseSections.generate(mDensity, RISE_SECTION_COUNT), true));
+    }
+    
+    @Override
+    public int runOperation() {
+        mGameArea.updateStep(0.0f, UPDATE_STEP);
+        return mGameArea.getVisiblePlatforms().size;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.game.generator.ArrayRiseSectionSource;
+import com.turbogerm.hellhopper.game.generator.BenchmarkRiseSections;
+
+// starting a climb and its first second must not depend on the total rise height
+public final class RiseHeightBenchmark extends BenchmarkBase {
+    
+    private static final int UPDATE_STEP_COUNT = 60;
+    private static final float UPDATE_STEP = 1.0f / 60.0f;
+    
+    private final int mRiseSteps;
+    private GameArea mGameArea;
+    private Array<RiseSectionData> mRiseSections;
+    
+    public RiseHeightBenchmark(int riseSteps) {
+        super("GameArea.resetAndFirstSecond", "riseSteps", String.valueOf(riseSteps));
+        
+        mRiseSteps = riseSteps;
+    }
+    
+    @Override
+    public void setUp() {
+        mGameArea = new GameArea();
+        mRiseSections = BenchmarkRiseSections.generate(BenchmarkRiseSections.NORMAL,
+                mRiseSteps / BenchmarkRiseSections.STEP_RANGE);
+    }
+    
+    @Override
+    public int runOperation() {
+        mGameArea.reset(new ArrayRiseSectionSource(mRiseSections, false));
+        for (int i = 0; i < UPDATE_STEP_COUNT; i++) {
+            mGameArea.updateStep(0.0f, UPDATE_STEP);
+        }
+        
+        return mGameArea.getVisiblePlatforms().size;
+    }
+}
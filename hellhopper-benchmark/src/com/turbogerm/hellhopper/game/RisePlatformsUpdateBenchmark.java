@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game;
+
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.game.generator.ArrayRiseSectionSource;
+import com.turbogerm.hellhopper.game.generator.BenchmarkRiseSections;
+
+// platform update cost at high platform counts; the active area covers the whole rise
+public final class RisePlatformsUpdateBenchmark extends BenchmarkBase {
+    
+    private static final int RISE_SECTION_COUNT = 10;
+    private static final float ACTIVE_PLATFORMS_AREA_PADDING = RISE_SECTION_COUNT * BenchmarkRiseSections.STEP_RANGE;
+    private static final float UPDATE_STEP = 1.0f / 60.0f;
+    
+    private final String mDensity;
+    private Rise mRise;
+    private float mGameTime;
+    private final Vector2 mC1;
+    private final Vector2 mC2;
+    private final PlatformToCharCollisionData mCollisionData;
+    
+    public RisePlatformsUpdateBenchmark(String density) {
+        super("Rise.updatePlatforms", "density", density);
+        
+        mDensity = density;
+        
+        // character is below the rise, so it never collides with platforms moving up
+        mC1 = new Vector2(0.0f, -ACTIVE_PLATFORMS_AREA_PADDING);
+        mC2 = new Vector2(1.0f, -ACTIVE_PLATFORMS_AREA_PADDING);
+        mCollisionData = new PlatformToCharCollisionData();
+    }
+    
+    @Override
+    public void setUp() {
+        mRise = new Rise(new ArrayRiseSectionSource(
+                BenchmarkRiseSections.generate(mDensity, RISE_SECTION_COUNT), true));
+        mRise.update(0.0f, ACTIVE_PLATFORMS_AREA_PADDING);
+        mGameTime = 0.0f;
+        mCollisionData.isEnabled = true;
+    }
+    
+    @Override
+    public int runOperation() {
+        mGameTime += UPDATE_STEP;
+        mCollisionData.reset();
+        mRise.updatePlatforms(0.0f, ACTIVE_PLATFORMS_AREA_PADDING, mGameTime, mC1, mC2, mCollisionData);
+        return mCollisionData.isCollision ? 1 : 0;
+    }
+}
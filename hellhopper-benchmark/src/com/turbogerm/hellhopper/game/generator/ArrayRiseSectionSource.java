@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+
+// serves prepared rise sections, optionally repeating them forever as an endless rise
+public final class ArrayRiseSectionSource implements RiseSectionSource {
+    
+    private final Array<RiseSectionData> mRiseSections;
+    private final boolean mIsLooping;
+    private int mNextIndex;
+    
+    public ArrayRiseSectionSource(Array<RiseSectionData> riseSections, boolean isLooping) {
+        mRiseSections = riseSections;
+        mIsLooping = isLooping;
+        mNextIndex = 0;
+    }
+    
+    @Override
+    public RiseSectionData getNextRiseSection() {
+        if (!mIsLooping && mNextIndex >= mRiseSections.size) {
+            return null;
+        }
+        
+        RiseSectionData riseSection = mRiseSections.get(mNextIndex % mRiseSections.size);
+        mNextIndex++;
+        return riseSection;
+    }
+    
+    @Override
+    public int getTotalStepRange() {
+        if (mIsLooping) {
+            return ENDLESS_STEP_RANGE;
+        }
+        
+        int totalStepRange = 0;
+        for (RiseSectionData riseSection : mRiseSections) {
+            totalStepRange += riseSection.getStepRange();
+        }
+        
+        return totalStepRange;
+    }
+}
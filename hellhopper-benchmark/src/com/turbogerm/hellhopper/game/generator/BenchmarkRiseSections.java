@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
+import com.turbogerm.hellhopper.util.SeededRandom;
+
+public final class BenchmarkRiseSections {
+    
+    public static final String SPARSE = "sparse";
+    public static final String NORMAL = "normal";
+    public static final String DENSE = "dense";
+    // several platforms per step, only possible with basic rise sections
+    public static final String CROWDED = "crowded";
+    
+    public static final String[] DENSITIES = { SPARSE, NORMAL, DENSE, CROWDED };
+    
+    public static final int STEP_RANGE = 100;
+    
+    // fixed seed keeps benchmark inputs identical between runs
+    public static final long SEED = 1L;
+    
+    private static final int CROWDED_NUM_PADS = 300;
+    
+    public static RiseSectionData generate(String density, SeededRandom random) {
+        if (SPARSE.equals(density)) {
+            return RiseSectionGenerator.generateRiseSection(STEP_RANGE, 3, 5, 0.2f, 2.0f, 3.0f, 0.1f, 0.15f, 0, random);
+        } else if (NORMAL.equals(density)) {
+            return RiseSectionGenerator.generateRiseSection(STEP_RANGE, 1, 3, 0.1f, 2.0f, 3.0f, 0.1f, 0.15f, 0, random);
+        } else if (DENSE.equals(density)) {
+            return RiseSectionGenerator.generateRiseSection(STEP_RANGE, 1, 1, 0.1f, 2.0f, 3.0f, 0.1f, 0.15f, 0, random);
+        } else if (CROWDED.equals(density)) {
+            return RiseSectionGenerator.generateBasicRiseSection(STEP_RANGE, CROWDED_NUM_PADS, 0, 0.15f, random);
+        } else {
+            ExceptionThrower.throwException("Invalid density: %s", density);
+            return null;
+        }
+    }
+    
+    public static Array<RiseSectionData> generate(String density, int count) {
+        SeededRandom random = new SeededRandom(SEED);
+        Array<RiseSectionData> riseSections = new Array<RiseSectionData>(true, count);
+        for (int i = 0; i < count; i++) {
+            riseSections.add(generate(density, random));
+        }
+        
+        return riseSections;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+
+// normal density sections, generated in parallel once their total step range is large enough
+public final class ParallelRiseSectionGeneratorBenchmark extends BenchmarkBase {
+    
+    private static final RiseSectionParameters NORMAL_PARAMETERS = new RiseSectionParameters(
+            BenchmarkRiseSections.STEP_RANGE, 1, 3, 0.1f, 2.0f, 3.0f, 0.1f, 0.15f, 0);
+    
+    private final RiseSectionParameters[] mParametersList;
+    private long mRiseSeed;
+    
+    public ParallelRiseSectionGeneratorBenchmark(int riseSectionCount) {
+        super("ParallelRiseSectionGenerator.generate", "riseSections", String.valueOf(riseSectionCount));
+        
+        mParametersList = new RiseSectionParameters[riseSectionCount];
+        for (int i = 0; i < riseSectionCount; i++) {
+            mParametersList[i] = NORMAL_PARAMETERS;
+        }
+    }
+    
+    @Override
+    public void setUp() {
+        mRiseSeed = BenchmarkRiseSections.SEED;
+    }
+    
+    @Override
+    public int runOperation() {
+        mRiseSeed++;
+        return ParallelRiseSectionGenerator.generate(mParametersList, mRiseSeed).length;
+    }
+}
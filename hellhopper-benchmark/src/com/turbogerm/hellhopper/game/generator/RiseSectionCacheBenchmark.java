@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+
+// fixed rise sections through the cache; repeated seed replays the same rise, new seed misses every time
+public final class RiseSectionCacheBenchmark extends BenchmarkBase {
+    
+    private static final RiseSectionParameters NORMAL_PARAMETERS = new RiseSectionParameters(
+            BenchmarkRiseSections.STEP_RANGE, 1, 3, 0.1f, 2.0f, 3.0f, 0.1f, 0.15f, 0);
+    private static final int RISE_SECTION_COUNT = 7;
+    
+    private final boolean mIsRepeatedSeed;
+    private final RiseSectionParameters[] mParametersList;
+    private RiseSectionCache mCache;
+    private long mRiseSeed;
+    
+    public RiseSectionCacheBenchmark(boolean isRepeatedSeed) {
+        super("RiseSectionCache.getRiseSection", "seed", isRepeatedSeed ? "repeated" : "new");
+        
+        mIsRepeatedSeed = isRepeatedSeed;
+        mParametersList = new RiseSectionParameters[RISE_SECTION_COUNT];
+        for (int i = 0; i < RISE_SECTION_COUNT; i++) {
+            mParametersList[i] = NORMAL_PARAMETERS;
+        }
+    }
+    
+    @Override
+    public void setUp() {
+        mCache = new RiseSectionCache(RISE_SECTION_COUNT * 2);
+        mRiseSeed = BenchmarkRiseSections.SEED;
+    }
+    
+    @Override
+    public int runOperation() {
+        if (!mIsRepeatedSeed) {
+            mRiseSeed++;
+        }
+        return ParallelRiseSectionGenerator.generate(mParametersList, mRiseSeed, mCache).length;
+    }
+}
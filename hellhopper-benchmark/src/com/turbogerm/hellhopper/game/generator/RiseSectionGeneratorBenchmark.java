@@ -21,21 +21,31 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game.platforms.features;
+package com.turbogerm.hellhopper.game.generator;
 
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.turbogerm.hellhopper.game.CollisionEffect;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.util.SeededRandom;
 
-public abstract class PlatformFeatureBase {
+public final class RiseSectionGeneratorBenchmark extends BenchmarkBase {
     
-    public void render(SpriteBatch batch, Vector2 platformPosition, float alpha, float delta) {
+    private final String mDensity;
+    private SeededRandom mRandom;
+    
+    public RiseSectionGeneratorBenchmark(String density) {
+        super(BenchmarkRiseSections.CROWDED.equals(density) ?
+                "RiseSectionGenerator.generateBasicRiseSection" : "RiseSectionGenerator.generateRiseSection",
+                "density", density);
+        
+        mDensity = density;
     }
     
-    public boolean isContact(float relativeCollisionPointX) {
-        return false;
+    @Override
+    public void setUp() {
+        mRandom = new SeededRandom(BenchmarkRiseSections.SEED);
     }
     
-    public void applyContact(CollisionEffect collisionEffect) {
+    @Override
+    public int runOperation() {
+        return BenchmarkRiseSections.generate(mDensity, mRandom).getPlatformDataList().size;
     }
 }
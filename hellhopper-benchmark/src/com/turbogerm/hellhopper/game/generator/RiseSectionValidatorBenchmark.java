@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+
+// validation runs on every generated section, it should stay well below the generation time
+public final class RiseSectionValidatorBenchmark extends BenchmarkBase {
+    
+    private static final int RISE_SECTION_COUNT = 16;
+    
+    private final String mDensity;
+    private Array<RiseSectionData> mRiseSections;
+    private int mRiseSectionIndex;
+    
+    public RiseSectionValidatorBenchmark(String density) {
+        super("RiseSectionValidator.isClimbable", "density", density);
+        
+        mDensity = density;
+    }
+    
+    @Override
+    public void setUp() {
+        mRiseSections = BenchmarkRiseSections.generate(mDensity, RISE_SECTION_COUNT);
+        mRiseSectionIndex = 0;
+    }
+    
+    @Override
+    public int runOperation() {
+        RiseSectionData riseSection = mRiseSections.get(mRiseSectionIndex);
+        mRiseSectionIndex = (mRiseSectionIndex + 1) % RISE_SECTION_COUNT;
+        return RiseSectionValidator.isClimbable(riseSection) ? 1 : 0;
+    }
+}
@@ -21,26 +21,33 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game.platforms;
+package com.turbogerm.hellhopper.game.generator;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.turbogerm.hellhopper.dataaccess.PlatformData;
-import com.turbogerm.hellhopper.util.ExceptionThrower;
+import com.turbogerm.hellhopper.benchmark.BenchmarkBase;
+import com.turbogerm.hellhopper.util.SeededRandom;
 
-public final class PlatformFactory {
+// basic rise section as tall as a whole rise, with the crowded benchmark density
+public final class TallRiseSectionGeneratorBenchmark extends BenchmarkBase {
     
-    public static PlatformBase create(PlatformData platformData, int startStep, AssetManager assetManager) {
+    private static final int PADS_PER_STEP = 3;
+    
+    private final int mStepRange;
+    private SeededRandom mRandom;
+    
+    public TallRiseSectionGeneratorBenchmark(int stepRange) {
+        super("RiseSectionGenerator.generateBasicRiseSection", "steps", String.valueOf(stepRange));
         
-        String platformType = platformData.getPlatformType();
-        if (PlatformData.NORMAL.equals(platformType)) {
-            return new NormalPlatform(platformData, startStep, assetManager);
-        } else if (PlatformData.CRUMBLE.equals(platformType)) {
-            return new CrumblePlatform(platformData, startStep, assetManager);
-        } else if (PlatformData.FLAME.equals(platformType)) {
-            return new FlamePlatform(platformData, startStep, assetManager);
-        } else {
-            ExceptionThrower.throwException("Invalid platform type: %s", platformType);
-            return null;
-        }
+        mStepRange = stepRange;
+    }
+    
+    @Override
+    public void setUp() {
+        mRandom = new SeededRandom(BenchmarkRiseSections.SEED);
+    }
+    
+    @Override
+    public int runOperation() {
+        return RiseSectionGenerator.generateBasicRiseSection(
+                mStepRange, mStepRange * PADS_PER_STEP, 0, 0.15f, mRandom).getPlatformDataList().size;
     }
 }
@@ -0,0 +1,266 @@
+package com.turbogerm.hellhopper;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+// packs images into a single page texture atlas in libgdx format;
+// inputs are png files (region name is the file name) or existing atlases (regions keep name and index),
+// directories are scanned for both; regions are padded with duplicated edge pixels so that
+// filtering and scaled drawing never pick up a neighbour
+// usage: AtlasPacker <output atlas file> <input>...
+// the game atlas is built from the project root with:
+// AtlasPacker hellhopper-android/assets/game/game.atlas images/game
+public class AtlasPacker {
+    
+    private static final int PADDING = 2;
+    private static final int MAX_PAGE_SIZE = 2048;
+    
+    private static final class Region {
+        String name;
+        int index;
+        BufferedImage image;
+        int x;
+        int y;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: AtlasPacker <output atlas file> <input>...");
+            return;
+        }
+        
+        List<Region> regions = new ArrayList<Region>();
+        for (int i = 1; i < args.length; i++) {
+            addInput(new File(args[i]), regions);
+        }
+        
+        // tallest first gives the tightest shelves
+        Collections.sort(regions, new Comparator<Region>() {
+            @Override
+            public int compare(Region r1, Region r2) {
+                int heightDifference = r2.image.getHeight() - r1.image.getHeight();
+                return heightDifference != 0 ? heightDifference : r1.name.compareTo(r2.name);
+            }
+        });
+        
+        int pageWidth = 64;
+        int pageHeight = 64;
+        while (!pack(regions, pageWidth, pageHeight)) {
+            if (pageWidth > pageHeight) {
+                pageHeight *= 2;
+            } else {
+                pageWidth *= 2;
+            }
+            
+            if (pageWidth > MAX_PAGE_SIZE) {
+                throw new IOException("regions do not fit into a single page");
+            }
+        }
+        
+        File atlasFile = new File(args[0]);
+        String atlasName = atlasFile.getName();
+        String pageFileName = atlasName.substring(0, atlasName.lastIndexOf('.')) + ".png";
+        
+        BufferedImage page = new BufferedImage(pageWidth, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        for (Region region : regions) {
+            drawPadded(page, region);
+        }
+        ImageIO.write(page, "png", new File(atlasFile.getParentFile(), pageFileName));
+        
+        writeAtlas(atlasFile, pageFileName, regions);
+        
+        System.out.println(String.format("packed %d regions into %s (%dx%d)",
+                regions.size(), pageFileName, pageWidth, pageHeight));
+    }
+    
+    private static void addInput(File input, List<Region> regions) throws IOException {
+        if (input.isDirectory()) {
+            File[] files = input.listFiles();
+            Arrays.sort(files);
+            for (File file : files) {
+                if (file.isDirectory() || file.getName().endsWith(".atlas")) {
+                    addInput(file, regions);
+                } else if (file.getName().endsWith(".png") && !isAtlasPage(file)) {
+                    addInput(file, regions);
+                }
+            }
+        } else if (input.getName().endsWith(".atlas")) {
+            addAtlasRegions(input, regions);
+        } else {
+            Region region = new Region();
+            String fileName = input.getName();
+            region.name = fileName.substring(0, fileName.lastIndexOf('.'));
+            region.index = -1;
+            region.image = ImageIO.read(input);
+            regions.add(region);
+        }
+    }
+    
+    private static boolean isAtlasPage(File pngFile) {
+        String fileName = pngFile.getName();
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        return new File(pngFile.getParentFile(), baseName + ".atlas").exists();
+    }
+    
+    // reads the single page atlases written by libgdx TexturePacker or by this packer
+    private static void addAtlasRegions(File atlasFile, List<Region> regions) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(atlasFile));
+        try {
+            BufferedImage page = null;
+            Region region = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().length() == 0) {
+                    continue;
+                }
+                
+                if (page == null) {
+                    page = ImageIO.read(new File(atlasFile.getParentFile(), line.trim()));
+                } else if (!line.startsWith(" ") && line.indexOf(':') < 0) {
+                    region = new Region();
+                    region.name = line.trim();
+                    region.index = -1;
+                    regions.add(region);
+                } else if (region != null) {
+                    String key = line.substring(0, line.indexOf(':')).trim();
+                    String[] values = line.substring(line.indexOf(':') + 1).split(",");
+                    if (key.equals("rotate") && values[0].trim().equals("true")) {
+                        throw new IOException("rotated regions are not supported: " + region.name);
+                    } else if (key.equals("xy")) {
+                        region.x = Integer.parseInt(values[0].trim());
+                        region.y = Integer.parseInt(values[1].trim());
+                    } else if (key.equals("size")) {
+                        region.image = page.getSubimage(region.x, region.y,
+                                Integer.parseInt(values[0].trim()), Integer.parseInt(values[1].trim()));
+                    } else if (key.equals("index")) {
+                        region.index = Integer.parseInt(values[0].trim());
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+    
+    // skyline bottom-left packing: every region goes where its bottom edge ends up lowest,
+    // the skyline holds (x, top y) of the occupied columns, sorted by x
+    private static boolean pack(List<Region> regions, int pageWidth, int pageHeight) {
+        List<int[]> skyline = new ArrayList<int[]>();
+        skyline.add(new int[] { 0, 0 });
+        
+        for (Region region : regions) {
+            int width = region.image.getWidth() + 2 * PADDING;
+            int height = region.image.getHeight() + 2 * PADDING;
+            
+            int bestX = -1;
+            int bestY = Integer.MAX_VALUE;
+            for (int i = 0; i < skyline.size(); i++) {
+                int x = skyline.get(i)[0];
+                if (x + width > pageWidth) {
+                    break;
+                }
+                
+                int y = 0;
+                for (int j = i; j < skyline.size() && skyline.get(j)[0] < x + width; j++) {
+                    y = Math.max(y, skyline.get(j)[1]);
+                }
+                
+                if (y < bestY) {
+                    bestX = x;
+                    bestY = y;
+                }
+            }
+            
+            if (bestX < 0 || bestY + height > pageHeight) {
+                return false;
+            }
+            
+            region.x = bestX + PADDING;
+            region.y = bestY + PADDING;
+            addToSkyline(skyline, bestX, bestX + width, bestY + height);
+        }
+        
+        return true;
+    }
+    
+    private static void addToSkyline(List<int[]> skyline, int startX, int endX, int y) {
+        // height of the column that continues right after the new region
+        int endColumnY = 0;
+        for (int i = 0; i < skyline.size() && skyline.get(i)[0] < endX; i++) {
+            endColumnY = skyline.get(i)[1];
+        }
+        
+        for (int i = skyline.size() - 1; i >= 0; i--) {
+            int x = skyline.get(i)[0];
+            if (x >= startX && x < endX) {
+                skyline.remove(i);
+            }
+        }
+        
+        int insertIndex = 0;
+        while (insertIndex < skyline.size() && skyline.get(insertIndex)[0] < startX) {
+            insertIndex++;
+        }
+        skyline.add(insertIndex, new int[] { startX, y });
+        
+        boolean isEndColumnPresent = insertIndex + 1 < skyline.size() && skyline.get(insertIndex + 1)[0] == endX;
+        if (!isEndColumnPresent) {
+            skyline.add(insertIndex + 1, new int[] { endX, endColumnY });
+        }
+    }
+    
+    private static void drawPadded(BufferedImage page, Region region) {
+        int width = region.image.getWidth();
+        int height = region.image.getHeight();
+        for (int py = -PADDING; py < height + PADDING; py++) {
+            int sy = Math.min(Math.max(py, 0), height - 1);
+            for (int px = -PADDING; px < width + PADDING; px++) {
+                int sx = Math.min(Math.max(px, 0), width - 1);
+                page.setRGB(region.x + px, region.y + py, region.image.getRGB(sx, sy));
+            }
+        }
+    }
+    
+    private static void writeAtlas(File atlasFile, String pageFileName, List<Region> regions) throws IOException {
+        // keep the file stable across runs, regions sorted by name and index
+        List<Region> sortedRegions = new ArrayList<Region>(regions);
+        Collections.sort(sortedRegions, new Comparator<Region>() {
+            @Override
+            public int compare(Region r1, Region r2) {
+                int nameComparison = r1.name.compareTo(r2.name);
+                return nameComparison != 0 ? nameComparison : r1.index - r2.index;
+            }
+        });
+        
+        Writer writer = new FileWriter(atlasFile);
+        try {
+            writer.write("\n" + pageFileName + "\n");
+            writer.write("format: RGBA8888\nfilter: Nearest,Nearest\nrepeat: none\n");
+            for (Region region : sortedRegions) {
+                int width = region.image.getWidth();
+                int height = region.image.getHeight();
+                writer.write(region.name + "\n");
+                writer.write("  rotate: false\n");
+                writer.write(String.format("  xy: %d, %d\n", region.x, region.y));
+                writer.write(String.format("  size: %d, %d\n", width, height));
+                writer.write(String.format("  orig: %d, %d\n", width, height));
+                writer.write("  offset: 0, 0\n");
+                writer.write(String.format("  index: %d\n", region.index));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
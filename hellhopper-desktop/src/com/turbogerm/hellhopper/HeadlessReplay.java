@@ -0,0 +1,82 @@
+package com.turbogerm.hellhopper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.turbogerm.hellhopper.debug.FrameProfiler;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.game.generator.RiseGenerator;
+import com.turbogerm.hellhopper.game.replay.Replay;
+import com.turbogerm.hellhopper.game.replay.ReplayPlayer;
+
+// plays a recorded climb back on the simulation layer as fast as possible and checks the end state;
+// must be started with hellhopper-android/assets as working directory or on the classpath
+// a final profiled playback reports the simulation phases over the last frames of the replay
+// usage: HeadlessReplay <replay file> [repetitions]
+public class HeadlessReplay {
+    
+    private static final int DEFAULT_REPETITION_COUNT = 1;
+    
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("usage: HeadlessReplay <replay file> [repetitions]");
+            return;
+        }
+        
+        int repetitionCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REPETITION_COUNT;
+        
+        Gdx.files = new LwjglFiles();
+        
+        Replay replay = Replay.read(Gdx.files.absolute(args[0]));
+        if (replay == null) {
+            System.out.println("cannot read replay file " + args[0]);
+            return;
+        }
+        
+        System.out.println(String.format("replay: %s rise, seed %d, %d frames in %d bytes, score %d",
+                replay.isEndlessRise() ? "endless" : "fixed", replay.getRiseSeed(),
+                replay.getFrameCount(), replay.getFrameDataSize(), replay.getEndScore()));
+        
+        GameArea gameArea = new GameArea();
+        
+        int matchingCount = 0;
+        long updateNanos = 0;
+        
+        for (int i = 0; i < repetitionCount; i++) {
+            updateNanos += playBack(gameArea, replay, null);
+            
+            if (replay.isEndStateMatching(gameArea)) {
+                matchingCount++;
+            }
+        }
+        
+        float elapsedSeconds = updateNanos / 1e9f;
+        long totalFrames = (long) replay.getFrameCount() * repetitionCount;
+        
+        System.out.println(String.format("end state matched in %d of %d playbacks", matchingCount, repetitionCount));
+        System.out.println(String.format("played frames: %d in %.3f s (%.0f frames/s)",
+                totalFrames, elapsedSeconds, totalFrames / elapsedSeconds));
+        
+        FrameProfiler profiler = new FrameProfiler();
+        gameArea.setProfiler(profiler);
+        playBack(gameArea, replay, profiler);
+        System.out.println(profiler.getSummary());
+    }
+    
+    // returns the time spent in GameArea.update, in nanoseconds
+    private static long playBack(GameArea gameArea, Replay replay, FrameProfiler profiler) {
+        long riseSeed = replay.getRiseSeed();
+        gameArea.reset(replay.isEndlessRise() ?
+                RiseGenerator.generateEndless(riseSeed) : RiseGenerator.generate(riseSeed));
+        
+        ReplayPlayer player = replay.createPlayer();
+        long startTime = System.nanoTime();
+        while (player.nextFrame()) {
+            gameArea.update(player.getDelta(), player.getHorizontalSpeed());
+            if (profiler != null) {
+                profiler.endFrame();
+            }
+        }
+        
+        return System.nanoTime() - startTime;
+    }
+}
@@ -0,0 +1,114 @@
+package com.turbogerm.hellhopper;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.game.generator.RiseGenerator;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+// runs climbs on the simulation layer only, without a window or GL context;
+// must be started with hellhopper-android/assets as working directory or on the classpath
+// climb i uses rise seed (first seed + i), so runs are reproducible
+// usage: HeadlessSimulation [climbs] [fixed|endless] [first seed]
+public class HeadlessSimulation {
+    
+    private static final int DEFAULT_CLIMB_COUNT = 100;
+    private static final float FRAME_DELTA = 1.0f / 60.0f;
+    private static final float MAX_CLIMB_DURATION = 120.0f;
+    
+    private static final float BOT_TARGET_TOLERANCE = 0.2f;
+    
+    public static void main(String[] args) {
+        int climbCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CLIMB_COUNT;
+        boolean isEndless = args.length > 1 && "endless".equals(args[1]);
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+        
+        Gdx.files = new LwjglFiles();
+        
+        GameArea gameArea = new GameArea();
+        
+        int burnedCount = 0;
+        int endReachedCount = 0;
+        int timedOutCount = 0;
+        long totalScore = 0;
+        int maxScore = 0;
+        long totalFrames = 0;
+        
+        long startTime = System.nanoTime();
+        
+        for (int i = 0; i < climbCount; i++) {
+            long seed = firstSeed + i;
+            gameArea.reset(isEndless ? RiseGenerator.generateEndless(seed) : RiseGenerator.generate(seed));
+            
+            float climbDuration = 0.0f;
+            while (!gameArea.isGameOver() && climbDuration < MAX_CLIMB_DURATION) {
+                gameArea.update(FRAME_DELTA, getBotHorizontalSpeed(gameArea));
+                climbDuration += FRAME_DELTA;
+                totalFrames++;
+            }
+            
+            GameCharacter character = gameArea.getCharacter();
+            if (character.isDead()) {
+                burnedCount++;
+            } else if (character.isEndReached()) {
+                endReachedCount++;
+            } else {
+                timedOutCount++;
+            }
+            
+            totalScore += gameArea.getScore();
+            maxScore = Math.max(maxScore, gameArea.getScore());
+        }
+        
+        float elapsedSeconds = (System.nanoTime() - startTime) / 1e9f;
+        
+        System.out.println(String.format("climbs: %d (burned: %d, end reached: %d, timed out: %d)",
+                climbCount, burnedCount, endReachedCount, timedOutCount));
+        System.out.println(String.format("score: average %.1f, max %d",
+                (float) totalScore / climbCount, maxScore));
+        System.out.println(String.format("simulated frames: %d in %.2f s (%.1f climbs/s, %.0f frames/s)",
+                totalFrames, elapsedSeconds, climbCount / elapsedSeconds, totalFrames / elapsedSeconds));
+    }
+    
+    // steers towards the nearest platform top that can be landed on next
+    private static float getBotHorizontalSpeed(GameArea gameArea) {
+        GameCharacter character = gameArea.getCharacter();
+        Vector2 charPosition = character.getPosition();
+        boolean isFalling = character.getSpeed().y < 0.0f;
+        
+        Platform target = null;
+        float targetTop = 0.0f;
+        Array<Platform> visiblePlatforms = gameArea.getVisiblePlatforms();
+        for (int i = 0; i < visiblePlatforms.size; i++) {
+            Platform platform = visiblePlatforms.get(i);
+            if (platform.getFlameIntensity() > 0.0f) {
+                continue;
+            }
+            
+            float platformTop = platform.getY() + PlatformData.PLATFORM_HEIGHT;
+            boolean isCandidate = isFalling ?
+                    platformTop <= charPosition.y && (target == null || platformTop > targetTop) :
+                    platformTop > charPosition.y && (target == null || platformTop < targetTop);
+            if (isCandidate) {
+                target = platform;
+                targetTop = platformTop;
+            }
+        }
+        
+        if (target == null) {
+            return 0.0f;
+        }
+        
+        float distance = (target.getX() + PlatformData.PLATFORM_WIDTH / 2.0f) -
+                (charPosition.x + GameCharacter.WIDTH / 2.0f);
+        if (Math.abs(distance) < BOT_TARGET_TOLERANCE) {
+            return 0.0f;
+        }
+        
+        return distance > 0.0f ? GameCharacter.DEFAULT_HORIZONTAL_SPEED : -GameCharacter.DEFAULT_HORIZONTAL_SPEED;
+    }
+}
@@ -0,0 +1,58 @@
+package com.turbogerm.hellhopper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionDataReader;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionsPack;
+import com.turbogerm.hellhopper.game.generator.RiseSectionValidator;
+
+// RiseSectionsPackCompiler hellhopper-android/assets/data/risesections
+public class RiseSectionsPackCompiler {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("usage: RiseSectionsPackCompiler <rise sections dir>");
+            return;
+        }
+        
+        File riseSectionsDir = new File(args[0]);
+        File dataFile = new File(riseSectionsDir, new File(ResourceNames.RISE_SECTIONS_DATA).getName());
+        File packFile = new File(riseSectionsDir, new File(ResourceNames.RISE_SECTIONS_PACK).getName());
+        
+        String[] riseSectionNames = new FileHandle(dataFile).readString().split("\\r?\\n");
+        
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(packFile)));
+        try {
+            output.writeInt(RiseSectionsPack.FILE_MAGIC);
+            output.writeInt(RiseSectionsPack.FILE_VERSION);
+            output.writeInt(riseSectionNames.length);
+            
+            for (String riseSectionName : riseSectionNames) {
+                File riseSectionFile = new File(riseSectionsDir, riseSectionName + ".xml");
+                RiseSectionData riseSection = RiseSectionDataReader.read(new FileHandle(riseSectionFile));
+                if (riseSection == null) {
+                    throw new IOException("cannot read rise section " + riseSectionFile);
+                }
+                if (!RiseSectionValidator.isClimbable(riseSection)) {
+                    throw new IOException("rise section is not climbable: " + riseSectionFile);
+                }
+                
+                byte[] nameBytes = riseSectionName.getBytes("UTF-8");
+                output.writeShort(nameBytes.length);
+                output.write(nameBytes);
+                RiseSectionsPack.writeRiseSection(output, riseSectionName, riseSection);
+            }
+        } finally {
+            output.close();
+        }
+        
+        System.out.println(String.format("compiled %d rise sections into %s (%d bytes)",
+                riseSectionNames.length, packFile.getName(), packFile.length()));
+    }
+}
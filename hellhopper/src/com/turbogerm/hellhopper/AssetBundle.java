@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.Array;
+
+// group of assets that is loaded and unloaded together
+final class AssetBundle {
+    
+    private final String mName;
+    private final Array<AssetDescriptor<?>> mAssets;
+    
+    public AssetBundle(String name) {
+        mName = name;
+        mAssets = new Array<AssetDescriptor<?>>(false, 8);
+    }
+    
+    public <T> void add(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+        mAssets.add(new AssetDescriptor<T>(fileName, type, parameter));
+    }
+    
+    // queues the assets, they get loaded by AssetManager.update()
+    public void load(AssetManager assetManager) {
+        for (int i = 0; i < mAssets.size; i++) {
+            assetManager.load(mAssets.get(i));
+        }
+    }
+    
+    // unloading also unloads dependencies that are not used by other assets
+    public void unload(AssetManager assetManager) {
+        for (int i = 0; i < mAssets.size; i++) {
+            assetManager.unload(mAssets.get(i).fileName);
+        }
+    }
+    
+    public boolean isLoaded(AssetManager assetManager) {
+        for (int i = 0; i < mAssets.size; i++) {
+            if (!assetManager.isLoaded(mAssets.get(i).fileName)) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    public String getName() {
+        return mName;
+    }
+}
@@ -23,14 +23,27 @@
  */
 package com.turbogerm.hellhopper;
 
+import com.turbogerm.hellhopper.game.replay.Replay;
+import com.turbogerm.hellhopper.util.SeededRandom;
+
 public final class GameData {
     
     private int mScore;
+    private boolean mIsEndlessRise;
+    private long mRiseSeed;
+    
+    private Replay mLastReplay;
+    // screen shown when the replay playback ends, null when a climb is played
+    private String mReplayReturnScreenName;
     
     private final HighScoresData mHighScoresData;
     
     public GameData() {
         mScore = 0;
+        mIsEndlessRise = false;
+        mRiseSeed = SeededRandom.createSeed();
+        mLastReplay = null;
+        mReplayReturnScreenName = null;
         mHighScoresData = new HighScoresData();
     }
     
@@ -46,6 +59,42 @@ public final class GameData {
         mScore = score;
     }
     
+    public boolean isEndlessRise() {
+        return mIsEndlessRise;
+    }
+    
+    public void setEndlessRise(boolean isEndlessRise) {
+        mIsEndlessRise = isEndlessRise;
+    }
+    
+    public long getRiseSeed() {
+        return mRiseSeed;
+    }
+    
+    public void setRiseSeed(long riseSeed) {
+        mRiseSeed = riseSeed;
+    }
+    
+    public Replay getLastReplay() {
+        return mLastReplay;
+    }
+    
+    public void setLastReplay(Replay lastReplay) {
+        mLastReplay = lastReplay;
+    }
+    
+    public boolean isReplayPlayback() {
+        return mReplayReturnScreenName != null;
+    }
+    
+    public String getReplayReturnScreenName() {
+        return mReplayReturnScreenName;
+    }
+    
+    public void setReplayReturnScreenName(String replayReturnScreenName) {
+        mReplayReturnScreenName = replayReturnScreenName;
+    }
+    
     public HighScoresData getHighScoresData() {
         return mHighScoresData;
     }
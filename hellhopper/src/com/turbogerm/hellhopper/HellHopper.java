@@ -5,13 +5,19 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.utils.ArrayMap;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.turbogerm.hellhopper.game.generator.RiseGenerator;
+import com.turbogerm.hellhopper.game.generator.RiseSectionCache;
+import com.turbogerm.hellhopper.game.generator.RisePreGenerator;
 import com.turbogerm.hellhopper.init.InitData;
 import com.turbogerm.hellhopper.screens.GameOverScreen;
 import com.turbogerm.hellhopper.screens.HighScoreScreen;
 import com.turbogerm.hellhopper.screens.InfoScreen;
 import com.turbogerm.hellhopper.screens.MainMenuScreen;
 import com.turbogerm.hellhopper.screens.PlayScreen;
+import com.turbogerm.hellhopper.screens.ScreenBase;
 import com.turbogerm.hellhopper.screens.SplashScreen;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
     
 public class HellHopper extends Game {
     
@@ -24,14 +30,25 @@ public class HellHopper extends Game {
     public static final String INFO_SCREEN_NAME = "Info";
     public static final String GAME_OVER_SCREEN_NAME = "GameOver";
     
+    // screens whose assets are preloaded at start, in loading order
+    private static final String[] PRELOADED_SCREEN_NAMES = {
+            MAIN_MENU_SCREEN_NAME, PLAY_SCREEN_NAME, HIGH_SCORE_SCREEN_NAME, INFO_SCREEN_NAME, GAME_OVER_SCREEN_NAME };
+    
+    // generated rise sections are kept between runs, repeated seeds skip generation
+    private static final String RISE_SECTION_CACHE_FILE_NAME = "risesectioncache.bin";
+    
     public static final float VIEWPORT_WIDTH = 450.0f;
     public static final float VIEWPORT_HEIGHT = 800.0f;
     
     //private FPSLogger mFpsLogger;
-    private ArrayMap<String, Screen> mScreens;
+    private ArrayMap<String, ScreenBase> mScreens;
+    // disposed at the start of the next frame, the screen may still be rendering when it is replaced
+    private ScreenBase mEvictedScreen;
     
     private Resources mResources;
+    private RenderContext mRenderContext;
     private GameData mGameData;
+    private RisePreGenerator mRisePreGenerator;
     private InitData mInitData;
     
     public HellHopper(InitData initData) {
@@ -45,14 +62,29 @@ public class HellHopper extends Game {
         Gdx.app.setLogLevel(Logger.DEBUG);
         Gdx.input.setCatchBackKey(true);
         
+        long startTime = TimeUtils.nanoTime();
+        
         initializeResourcesAndGameData();
         initializeScreens();
+        
+        Gdx.app.log(LOG, String.format("Startup took %d ms, java heap %d kB, native heap %d kB",
+                (TimeUtils.nanoTime() - startTime) / 1000000L,
+                Gdx.app.getJavaHeap() / 1024L, Gdx.app.getNativeHeap() / 1024L));
     }
     
     @Override
     public void dispose() {
         super.dispose();
+        disposeEvictedScreen();
+        for (int i = 0; i < mScreens.size; i++) {
+            mScreens.getValueAt(i).dispose();
+        }
+        mScreens.clear();
+        
         mGameData.dispose();
+        mRisePreGenerator.dispose();
+        saveRiseSectionCache();
+        mRenderContext.dispose();
         mResources.dispose();
     }
     
@@ -60,25 +92,96 @@ public class HellHopper extends Game {
     public void render() {
         //mFpsLogger.log();
         
+        disposeEvictedScreen();
+        mResources.update();
+        
         super.render();
     }
     
+    // pause only saves state, going to background is not memory pressure; memory is trimmed
+    // from the platform low memory callbacks
+    @Override
+    public void pause() {
+        super.pause();
+        saveRiseSectionCache();
+    }
+    
+    // screens are created on first use; assets that are not loaded yet are loaded synchronously
     public Screen getScreen(String name) {
-        return mScreens.get(name);
+        ScreenBase screen = mScreens.get(name);
+        if (screen == null) {
+            long startTime = TimeUtils.nanoTime();
+            
+            mResources.finishLoading(getScreenAssetBundles(name));
+            screen = createScreen(name);
+            mScreens.put(name, screen);
+            
+            Gdx.app.debug(LOG, String.format("Created screen %s in %d ms, java heap %d kB", name,
+                    (TimeUtils.nanoTime() - startTime) / 1000000L, Gdx.app.getJavaHeap() / 1024L));
+        }
+        
+        return screen;
+    }
+    
+    // queues the screen assets to be loaded in the background
+    public void preloadScreen(String name) {
+        mResources.load(getScreenAssetBundles(name));
+    }
+    
+    public boolean isScreenAvailable(String name) {
+        return mScreens.containsKey(name) || mResources.isLoaded(getScreenAssetBundles(name));
     }
     
+    // disposes screens that are not shown and unloads asset bundles that are no longer held
+    public void trimMemory() {
+        disposeEvictedScreen();
+        
+        Screen currentScreen = getScreen();
+        for (int i = mScreens.size - 1; i >= 0; i--) {
+            ScreenBase screen = mScreens.getValueAt(i);
+            if (screen != currentScreen) {
+                screen.dispose();
+                mScreens.removeIndex(i);
+            }
+        }
+        
+        mResources.trimMemory();
+        
+        // splash screen waits for the main menu assets, which nobody holds yet
+        if (currentScreen == mScreens.get(SPLASH_SCREEN_NAME)) {
+            preloadScreen(MAIN_MENU_SCREEN_NAME);
+        }
+    }
+    
+    // screens that are cheap to rebuild are disposed when replaced
     public void setScreen(String name) {
-        setScreen(getScreen(name));
+        ScreenBase previousScreen = (ScreenBase) getScreen();
+        ScreenBase screen = (ScreenBase) getScreen(name);
+        setScreen(screen);
+        
+        if (previousScreen != null && previousScreen != screen && previousScreen.isDisposedOnHide()) {
+            disposeEvictedScreen();
+            mScreens.removeValue(previousScreen, true);
+            mEvictedScreen = previousScreen;
+        }
     }
     
     public Resources getResources() {
         return mResources;
     }
     
+    public RenderContext getRenderContext() {
+        return mRenderContext;
+    }
+    
     public GameData getGameData() {
         return mGameData;
     }
     
+    public RisePreGenerator getRisePreGenerator() {
+        return mRisePreGenerator;
+    }
+    
     public InitData getInitData() {
         return mInitData;
     }
@@ -86,18 +189,71 @@ public class HellHopper extends Game {
     private void initializeResourcesAndGameData() {
         
         mResources = new Resources();
+        mRenderContext = new RenderContext();
         mGameData = new GameData();
+        RiseGenerator.getRiseSectionCache().load(Gdx.files.local(RISE_SECTION_CACHE_FILE_NAME));
+        mRisePreGenerator = new RisePreGenerator();
     }
     
+    // only the splash screen exists at start, assets of other screens are loaded behind it
     private void initializeScreens() {
-        mScreens = new ArrayMap<String, Screen>();
-        mScreens.put(SPLASH_SCREEN_NAME, new SplashScreen(this));
-        mScreens.put(MAIN_MENU_SCREEN_NAME, new MainMenuScreen(this));
-        mScreens.put(PLAY_SCREEN_NAME, new PlayScreen(this));
-        mScreens.put(HIGH_SCORE_SCREEN_NAME, new HighScoreScreen(this));
-        mScreens.put(INFO_SCREEN_NAME, new InfoScreen(this));
-        mScreens.put(GAME_OVER_SCREEN_NAME, new GameOverScreen(this));
+        mScreens = new ArrayMap<String, ScreenBase>();
         
         setScreen(SPLASH_SCREEN_NAME);
+        
+        for (int i = 0; i < PRELOADED_SCREEN_NAMES.length; i++) {
+            preloadScreen(PRELOADED_SCREEN_NAMES[i]);
+        }
+    }
+    
+    private void saveRiseSectionCache() {
+        RiseSectionCache riseSectionCache = RiseGenerator.getRiseSectionCache();
+        riseSectionCache.save(Gdx.files.local(RISE_SECTION_CACHE_FILE_NAME));
+        Gdx.app.debug(LOG, String.format("Rise section cache: %s", riseSectionCache));
+    }
+    
+    private void disposeEvictedScreen() {
+        if (mEvictedScreen != null) {
+            mEvictedScreen.dispose();
+            mEvictedScreen = null;
+        }
+    }
+    
+    private ScreenBase createScreen(String name) {
+        if (SPLASH_SCREEN_NAME.equals(name)) {
+            return new SplashScreen(this);
+        } else if (MAIN_MENU_SCREEN_NAME.equals(name)) {
+            return new MainMenuScreen(this);
+        } else if (PLAY_SCREEN_NAME.equals(name)) {
+            return new PlayScreen(this);
+        } else if (HIGH_SCORE_SCREEN_NAME.equals(name)) {
+            return new HighScoreScreen(this);
+        } else if (INFO_SCREEN_NAME.equals(name)) {
+            return new InfoScreen(this);
+        } else if (GAME_OVER_SCREEN_NAME.equals(name)) {
+            return new GameOverScreen(this);
+        } else {
+            ExceptionThrower.throwException("Invalid screen name: %s", name);
+            return null;
+        }
+    }
+    
+    private static int[] getScreenAssetBundles(String name) {
+        if (SPLASH_SCREEN_NAME.equals(name)) {
+            return SplashScreen.ASSET_BUNDLES;
+        } else if (MAIN_MENU_SCREEN_NAME.equals(name)) {
+            return MainMenuScreen.ASSET_BUNDLES;
+        } else if (PLAY_SCREEN_NAME.equals(name)) {
+            return PlayScreen.ASSET_BUNDLES;
+        } else if (HIGH_SCORE_SCREEN_NAME.equals(name)) {
+            return HighScoreScreen.ASSET_BUNDLES;
+        } else if (INFO_SCREEN_NAME.equals(name)) {
+            return InfoScreen.ASSET_BUNDLES;
+        } else if (GAME_OVER_SCREEN_NAME.equals(name)) {
+            return GameOverScreen.ASSET_BUNDLES;
+        } else {
+            ExceptionThrower.throwException("Invalid screen name: %s", name);
+            return null;
+        }
     }
 }
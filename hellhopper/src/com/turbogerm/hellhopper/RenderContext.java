@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.turbogerm.hellhopper.game.GameArea;
+
+// single sprite batch, and so a single shader, used by all screens, their stages and the game area
+public final class RenderContext {
+    
+    private final SpriteBatch mBatch;
+    private final Matrix4 mGuiProjection;
+    private final Matrix4 mWorldProjection;
+    
+    public RenderContext() {
+        mBatch = new SpriteBatch();
+        mGuiProjection = new Matrix4().setToOrtho2D(0.0f, 0.0f,
+                HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT);
+        mWorldProjection = new Matrix4();
+    }
+    
+    // viewport coordinates
+    public void beginGui() {
+        begin(mGuiProjection);
+    }
+    
+    // game area coordinates, visible area position is at the bottom of the screen
+    public void beginWorld(float visibleAreaPosition) {
+        mWorldProjection.setToOrtho2D(0.0f, visibleAreaPosition,
+                GameArea.GAME_AREA_WIDTH, GameArea.GAME_AREA_HEIGHT);
+        begin(mWorldProjection);
+    }
+    
+    public void end() {
+        mBatch.end();
+    }
+    
+    public SpriteBatch getBatch() {
+        return mBatch;
+    }
+    
+    public void dispose() {
+        mBatch.dispose();
+    }
+    
+    // stages draw through the same batch and leave their last actor color in it
+    private void begin(Matrix4 projection) {
+        mBatch.setProjectionMatrix(projection);
+        mBatch.setColor(Color.WHITE);
+        mBatch.begin();
+    }
+}
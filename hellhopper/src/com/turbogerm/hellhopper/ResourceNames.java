@@ -23,8 +23,6 @@
  */
 package com.turbogerm.hellhopper;
 
-import com.badlogic.gdx.math.MathUtils;
-
 public final class ResourceNames {
     
     public static final String GUI_DIR = "gui/";
@@ -49,33 +47,35 @@ public final class ResourceNames {
     public static final String DATA_DIR = "data/";
     public static final String RISE_SECTIONS_DIR = DATA_DIR + "risesections/";
     public static final String RISE_SECTIONS_DATA = RISE_SECTIONS_DIR + "risesections.txt";
+    // compiled from the rise section xml files with RiseSectionsPackCompiler
+    public static final String RISE_SECTIONS_PACK = RISE_SECTIONS_DIR + "risesections.pack";
     
+    // all game world images are regions of the game atlas, packed from images/game with AtlasPacker
     public static final String GAME_DIR = "game/";
-    public static final String GAME_CHARACTER_TEXTURE = GAME_DIR + "character.png";
-    public static final String GAME_END_LINE_TEXTURE = GAME_DIR + "endline.png";
-    public static final String GAME_POSITION_SCROLL_LINE_TEXTURE = GAME_DIR + "positionscrollline.png";
-    public static final String GAME_POSITION_SCROLL_LINE_ABOVE_TEXTURE = GAME_DIR + "positionscrolllineabove.png";
-    public static final String GAME_POSITION_SCROLL_BOX_TEXTURE = GAME_DIR + "positionscrollbox.png";
-    public static final String GAME_POSITION_SCROLL_END_LINE_TEXTURE = GAME_DIR + "positionscrollendline.png";
+    public static final String GAME_TEXTURE_ATLAS = GAME_DIR + "game.atlas";
+    public static final String GAME_CHARACTER_IMAGE = "character";
+    public static final String GAME_END_LINE_IMAGE = "endline";
+    public static final String GAME_POSITION_SCROLL_LINE_IMAGE = "positionscrollline";
+    public static final String GAME_POSITION_SCROLL_LINE_ABOVE_IMAGE = "positionscrolllineabove";
+    public static final String GAME_POSITION_SCROLL_BOX_IMAGE = "positionscrollbox";
+    public static final String GAME_POSITION_SCROLL_END_LINE_IMAGE = "positionscrollendline";
     
-    public static final String PLATFORMS_DIR = GAME_DIR + "platforms/";
-    private static final String PLATFORM_NORMAL_TEXTURE_NAME_FORMAT = PLATFORMS_DIR + "normalplatform%02d.png";
+    private static final String PLATFORM_NORMAL_IMAGE_NAME_FORMAT = "normalplatform%02d";
     public static final int PLATFORM_NORMAL_TEXTURE_COUNT = 5;
-    private static final String PLATFORM_FLAME_TEXTURE_NAME_FORMAT = PLATFORMS_DIR + "flameplatform%02d.png";
+    private static final String PLATFORM_FLAME_IMAGE_NAME_FORMAT = "flameplatform%02d";
     public static final int PLATFORM_FLAME_TEXTURE_COUNT = 5;
-    public static final String PLATFORM_CRUMBLE_TEXTURE = PLATFORMS_DIR + "crumbleplatform.png";
+    public static final String PLATFORM_CRUMBLE_IMAGE = "crumbleplatform";
     
-    public static final String PLATFORM_FIRE_TEXTURE_ATLAS = PLATFORMS_DIR + "platformfire.atlas";
-    public static final String PLATFORM_ENGINE_TEXTURE = PLATFORMS_DIR + "engine.png";
-    public static final String PLATFORM_JUMP_BOOST_CRATER_LOW_TEXTURE = PLATFORMS_DIR + "jumpboostcraterlow.png";
-    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_LOW_TEXTURE = PLATFORMS_DIR + "jumpboostdischargelow.png";
-    public static final String PLATFORM_JUMP_BOOST_CRATER_MEDIUM_TEXTURE = PLATFORMS_DIR + "jumpboostcratermedium.png";
-    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_MEDIUM_TEXTURE = PLATFORMS_DIR + "jumpboostdischargemedium.png";
-    public static final String PLATFORM_JUMP_BOOST_CRATER_HIGH_TEXTURE = PLATFORMS_DIR + "jumpboostcraterhigh.png";
-    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_HIGH_TEXTURE = PLATFORMS_DIR + "jumpboostdischargehigh.png";
+    public static final String PLATFORM_FIRE_IMAGE = "platformfire";
+    public static final String PLATFORM_ENGINE_IMAGE = "engine";
+    public static final String PLATFORM_JUMP_BOOST_CRATER_LOW_IMAGE = "jumpboostcraterlow";
+    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_LOW_IMAGE = "jumpboostdischargelow";
+    public static final String PLATFORM_JUMP_BOOST_CRATER_MEDIUM_IMAGE = "jumpboostcratermedium";
+    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_MEDIUM_IMAGE = "jumpboostdischargemedium";
+    public static final String PLATFORM_JUMP_BOOST_CRATER_HIGH_IMAGE = "jumpboostcraterhigh";
+    public static final String PLATFORM_JUMP_BOOST_DISCHARGE_HIGH_IMAGE = "jumpboostdischargehigh";
     
-    public static final String OBJECTS_DIR = GAME_DIR + "objects/";
-    public static final String OBJECT_LAVA_ROCK_TEXTURE = OBJECTS_DIR + "lavarock.png";
+    public static final String OBJECT_LAVA_ROCK_IMAGE = "lavarock";
     
     public static final String PARTICLES_DIR = "particles/";
     public static final String PARTICLE_ENGINE = PARTICLES_DIR + "engine.p";
@@ -84,21 +84,11 @@ public final class ResourceNames {
         return String.format("%s%s.xml", RISE_SECTIONS_DIR, name);
     }
     
-    public static String getPlatformNormalTexture(int i) {
-        return String.format(ResourceNames.PLATFORM_NORMAL_TEXTURE_NAME_FORMAT, i);
-    }
-    
-    public static String getRandomPlatformNormalTexture() {
-        int index = MathUtils.random(PLATFORM_NORMAL_TEXTURE_COUNT - 1);
-        return getPlatformNormalTexture(index);
-    }
-    
-    public static String getPlatformFlameTexture(int i) {
-        return String.format(ResourceNames.PLATFORM_FLAME_TEXTURE_NAME_FORMAT, i);
+    public static String getPlatformNormalImage(int i) {
+        return String.format(ResourceNames.PLATFORM_NORMAL_IMAGE_NAME_FORMAT, i);
     }
     
-    public static String getRandomPlatformFlameTexture() {
-        int index = MathUtils.random(PLATFORM_FLAME_TEXTURE_COUNT - 1);
-        return getPlatformFlameTexture(index);
+    public static String getPlatformFlameImage(int i) {
+        return String.format(ResourceNames.PLATFORM_FLAME_IMAGE_NAME_FORMAT, i);
     }
 }
@@ -32,81 +32,134 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.turbogerm.hellhopper.util.ParticleEffectLoader;
+import com.turbogerm.hellhopper.util.ParticleEffectLoader.ParticleEffectParameter;
 
 public final class Resources {
     
+    // assets are grouped into bundles; screens acquire the bundles they use and release them when disposed
+    public static final int BUNDLE_SPLASH = 0;
+    public static final int BUNDLE_FONTS = 1;
+    public static final int BUNDLE_GUI = 2;
+    public static final int BUNDLE_GAME_WORLD = 3;
+    public static final int BUNDLE_PARTICLES = 4;
+    public static final int BUNDLE_COUNT = 5;
+    
+    // time per frame given to loading while a screen is shown
+    private static final int LOAD_UPDATE_MILLIS = 12;
+    
+    private static final String[] FONT_NAMES = {
+            "default-font", "small-font", "medium-font", "large-font", "xl-font", "xxl-font", "xxxl-font" };
+    
     private final AssetManager mAssetManager;
-    private final Skin mGuiSkin;
+    private final AssetBundle[] mBundles;
+    private final int[] mBundleReferenceCounts;
+    // queued or already loaded
+    private final boolean[] mIsBundleRequested;
+    private Skin mGuiSkin;
     
+    // only the splash bundle is loaded here, other bundles are loaded on demand
     public Resources() {
         mAssetManager = new AssetManager();
         mAssetManager.setLoader(ParticleEffect.class, new ParticleEffectLoader(new InternalFileHandleResolver()));
         
-        TextureParameter textureParameter = new TextureParameter();
-        textureParameter.minFilter = TextureFilter.Nearest;
-        textureParameter.magFilter = TextureFilter.Nearest;
-        textureParameter.genMipMaps = false;
-        
-        mAssetManager.load(ResourceNames.GUI_BLACK_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_BACKGROUND_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_START_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_START_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_HIGH_SCORE_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_HIGH_SCORE_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_INFO_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_MAIN_MENU_INFO_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_BUTTON_BACK_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_BUTTON_BACK_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_BUTTON_CONTINUE_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_BUTTON_CONTINUE_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_PAUSE_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_PAUSE_DOWN_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_PLAY_UP_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GUI_PLAY_DOWN_TEXTURE, Texture.class, textureParameter);
+        mBundles = createBundles();
+        mBundleReferenceCounts = new int[BUNDLE_COUNT];
+        mIsBundleRequested = new boolean[BUNDLE_COUNT];
         
-        mAssetManager.load(ResourceNames.GAME_CHARACTER_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GAME_END_LINE_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GAME_POSITION_SCROLL_LINE_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GAME_POSITION_SCROLL_LINE_ABOVE_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GAME_POSITION_SCROLL_BOX_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.GAME_POSITION_SCROLL_END_LINE_TEXTURE, Texture.class, textureParameter);
-        
-        for (int i = 0; i < ResourceNames.PLATFORM_NORMAL_TEXTURE_COUNT; i++) {
-            mAssetManager.load(ResourceNames.getPlatformNormalTexture(i), Texture.class, textureParameter);
+        load(BUNDLE_SPLASH);
+        mAssetManager.finishLoading();
+    }
+    
+    // queues the bundle without acquiring it; a loaded bundle nobody acquired is freed by trimMemory()
+    public void load(int bundle) {
+        if (!mIsBundleRequested[bundle]) {
+            mBundles[bundle].load(mAssetManager);
+            mIsBundleRequested[bundle] = true;
         }
-        
-        for (int i = 0; i < ResourceNames.PLATFORM_FLAME_TEXTURE_COUNT; i++) {
-            mAssetManager.load(ResourceNames.getPlatformFlameTexture(i), Texture.class, textureParameter);
+    }
+    
+    public void load(int[] bundles) {
+        for (int i = 0; i < bundles.length; i++) {
+            load(bundles[i]);
+        }
+    }
+    
+    // bundle has to be loaded before it is acquired
+    public void acquire(int bundle) {
+        if (!isLoaded(bundle)) {
+            Gdx.app.error(HellHopper.LOG, "Asset bundle " + mBundles[bundle].getName() + " acquired before loading");
         }
         
-        mAssetManager.load(ResourceNames.PLATFORM_CRUMBLE_TEXTURE, Texture.class, textureParameter);
-        
-        mAssetManager.load(ResourceNames.PLATFORM_FIRE_TEXTURE_ATLAS, TextureAtlas.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_ENGINE_TEXTURE, Texture.class, textureParameter);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_LOW_TEXTURE, Texture.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_LOW_TEXTURE, Texture.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_MEDIUM_TEXTURE, Texture.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_MEDIUM_TEXTURE, Texture.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_HIGH_TEXTURE, Texture.class, null);
-        mAssetManager.load(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_HIGH_TEXTURE, Texture.class, null);
+        mBundleReferenceCounts[bundle]++;
+    }
+    
+    public void release(int bundle) {
+        if (mBundleReferenceCounts[bundle] > 0) {
+            mBundleReferenceCounts[bundle]--;
+        }
+    }
+    
+    public boolean isLoaded(int bundle) {
+        return mIsBundleRequested[bundle] && mBundles[bundle].isLoaded(mAssetManager);
+    }
+    
+    public boolean isLoaded(int[] bundles) {
+        for (int i = 0; i < bundles.length; i++) {
+            if (!isLoaded(bundles[i])) {
+                return false;
+            }
+        }
         
-        mAssetManager.load(ResourceNames.OBJECT_LAVA_ROCK_TEXTURE, Texture.class, textureParameter);
+        return true;
+    }
+    
+    // loads for a limited time, returns true when everything queued is loaded;
+    // AssetManager.update(int) is not used, its deadline mixes nanoseconds with milliseconds so it
+    // never times out, and it holds the manager lock the loading thread needs for dependencies
+    public boolean update() {
+        long endTime = TimeUtils.nanoTime() + LOAD_UPDATE_MILLIS * 1000000L;
+        boolean isLoaded = mAssetManager.update();
+        while (!isLoaded && TimeUtils.nanoTime() < endTime) {
+            Thread.yield();
+            isLoaded = mAssetManager.update();
+        }
         
-        mAssetManager.load(ResourceNames.PARTICLE_ENGINE, ParticleEffect.class, null);
+        initializeGuiSkin();
+        return isLoaded;
+    }
+    
+    // keeps loading until the bundles are loaded, anything queued after them stays queued
+    public void finishLoading(int[] bundles) {
+        load(bundles);
+        while (!isLoaded(bundles)) {
+            mAssetManager.update();
+        }
         
-        mAssetManager.finishLoading();
+        initializeGuiSkin();
+    }
+    
+    // unloads loaded bundles that no screen holds
+    public void trimMemory() {
+        for (int bundle = 0; bundle < BUNDLE_COUNT; bundle++) {
+            if (mIsBundleRequested[bundle] && mBundleReferenceCounts[bundle] == 0) {
+                mBundles[bundle].unload(mAssetManager);
+                mIsBundleRequested[bundle] = false;
+                Gdx.app.debug(HellHopper.LOG, "Unloaded asset bundle " + mBundles[bundle].getName());
+            }
+        }
         
-        mGuiSkin = new Skin(Gdx.files.internal(ResourceNames.GUI_SKIN));
-        mGuiSkin.getFont("default-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("small-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("medium-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("large-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("xl-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("xxl-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
-        mGuiSkin.getFont("xxxl-font").getRegion().getTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+        if (!mIsBundleRequested[BUNDLE_FONTS]) {
+            mGuiSkin = null;
+        }
+    }
+    
+    public float getProgress() {
+        return mAssetManager.getProgress();
     }
     
+    // null until the fonts bundle is loaded
     public Skin getGuiSkin() {
         return mGuiSkin;
     }
@@ -116,7 +169,67 @@ public final class Resources {
     }
     
     public void dispose() {
-        mGuiSkin.dispose();
         mAssetManager.dispose();
     }
+    
+    private void initializeGuiSkin() {
+        if (mGuiSkin != null || !mAssetManager.isLoaded(ResourceNames.GUI_SKIN)) {
+            return;
+        }
+        
+        mGuiSkin = mAssetManager.get(ResourceNames.GUI_SKIN);
+        for (int i = 0; i < FONT_NAMES.length; i++) {
+            mGuiSkin.getFont(FONT_NAMES[i]).getRegion().getTexture().setFilter(
+                    TextureFilter.Linear, TextureFilter.Linear);
+        }
+    }
+    
+    private static AssetBundle[] createBundles() {
+        TextureParameter textureParameter = new TextureParameter();
+        textureParameter.minFilter = TextureFilter.Nearest;
+        textureParameter.magFilter = TextureFilter.Nearest;
+        textureParameter.genMipMaps = false;
+        
+        AssetBundle[] bundles = new AssetBundle[BUNDLE_COUNT];
+        
+        AssetBundle splashBundle = new AssetBundle("splash");
+        splashBundle.add(ResourceNames.GUI_BLACK_TEXTURE, Texture.class, textureParameter);
+        splashBundle.add(ResourceNames.GUI_BACKGROUND_TEXTURE, Texture.class, textureParameter);
+        bundles[BUNDLE_SPLASH] = splashBundle;
+        
+        // fonts come with the skin
+        AssetBundle fontsBundle = new AssetBundle("fonts");
+        fontsBundle.add(ResourceNames.GUI_SKIN, Skin.class, null);
+        bundles[BUNDLE_FONTS] = fontsBundle;
+        
+        AssetBundle guiBundle = new AssetBundle("gui");
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_START_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_START_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_HIGH_SCORE_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_HIGH_SCORE_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_INFO_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_MAIN_MENU_INFO_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_BUTTON_BACK_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_BUTTON_BACK_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_BUTTON_CONTINUE_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_BUTTON_CONTINUE_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_PAUSE_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_PAUSE_DOWN_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_PLAY_UP_TEXTURE, Texture.class, textureParameter);
+        guiBundle.add(ResourceNames.GUI_PLAY_DOWN_TEXTURE, Texture.class, textureParameter);
+        bundles[BUNDLE_GUI] = guiBundle;
+        
+        AssetBundle gameWorldBundle = new AssetBundle("game-world");
+        gameWorldBundle.add(ResourceNames.GAME_TEXTURE_ATLAS, TextureAtlas.class, null);
+        bundles[BUNDLE_GAME_WORLD] = gameWorldBundle;
+        
+        // engine particles take their image from the game atlas, so they are drawn without a texture switch
+        ParticleEffectParameter particleEffectParameter = new ParticleEffectParameter();
+        particleEffectParameter.atlasFile = ResourceNames.GAME_TEXTURE_ATLAS;
+        AssetBundle particlesBundle = new AssetBundle("particles");
+        particlesBundle.add(ResourceNames.PARTICLE_ENGINE, ParticleEffect.class, particleEffectParameter);
+        bundles[BUNDLE_PARTICLES] = particlesBundle;
+        
+        return bundles;
+    }
 }
@@ -25,7 +25,6 @@ package com.turbogerm.hellhopper.dataaccess;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
 import com.turbogerm.hellhopper.game.GameArea;
 
 public final class PlatformData {
@@ -54,16 +53,14 @@ public final class PlatformData {
     private final int mOffset;
     private final PlatformMovementData mMovementData;
     private final Array<PlatformFeatureData> mFeaturesData;
-    private final ObjectMap<String, String> mProperties;
     
     public PlatformData(String platformType, int step, int offset, PlatformMovementData movementData,
-            Array<PlatformFeatureData> featuresData, ObjectMap<String, String> properties) {
+            Array<PlatformFeatureData> featuresData) {
         mPlatformType = platformType;
         mStep = step;
         mOffset = offset;
         mMovementData = movementData;
         mFeaturesData = featuresData;
-        mProperties = properties;
     }
     
     public String getPlatformType() {
@@ -78,10 +75,6 @@ public final class PlatformData {
         return mOffset;
     }
     
-    public String getProperty(String name) {
-        return mProperties.get(name);
-    }
-    
     public PlatformMovementData getMovementData() {
         return mMovementData;
     }
@@ -90,9 +83,9 @@ public final class PlatformData {
         return mFeaturesData;
     }
     
-    public Vector2 getPlatformPositions(int startStep) {
+    public void fillPlatformPosition(int startStep, Vector2 position) {
         float x = mOffset * OFFSET_WIDTH;
         float y = (mStep + startStep) * STEP_HEIGHT;
-        return new Vector2(x, y);
+        position.set(x, y);
     }
 }
@@ -23,11 +23,17 @@
  */
 package com.turbogerm.hellhopper.dataaccess;
 
-import com.badlogic.gdx.utils.ObjectMap;
-
 public final class PlatformFeatureData {
     
-    public static final String JUMP_BOOST = "jumpboost";
+    public static final int JUMP_BOOST = 0;
+    
+    public static final int JUMP_BOOST_POWER_LOW = 0;
+    public static final int JUMP_BOOST_POWER_MEDIUM = 1;
+    public static final int JUMP_BOOST_POWER_HIGH = 2;
+    
+    // names used in rise section xml files
+    
+    public static final String JUMP_BOOST_FEATURE = "jumpboost";
     
     public static final String JUMP_BOOST_POSITION_PROPERTY = "position";
     public static final String JUMP_BOOST_POWER_PROPERTY = "power";
@@ -36,19 +42,30 @@ public final class PlatformFeatureData {
     public static final String JUMP_BOOST_POWER_MEDIUM_PROPERTY_VALUE = "medium";
     public static final String JUMP_BOOST_POWER_HIGH_PROPERTY_VALUE = "high";
     
-    private final String mFeatureType;
-    private final ObjectMap<String, String> mProperties;
+    private final int mFeatureType;
+    // 0 puts the jump boost at the left platform edge, 1 at the right edge
+    private final float mPosition;
+    private final int mPower;
     
-    public PlatformFeatureData(String featureType, ObjectMap<String, String> properties) {
+    private PlatformFeatureData(int featureType, float position, int power) {
         mFeatureType = featureType;
-        mProperties = properties;
+        mPosition = position;
+        mPower = power;
     }
     
-    public String getFeatureType() {
+    public static PlatformFeatureData createJumpBoost(float position, int power) {
+        return new PlatformFeatureData(JUMP_BOOST, position, power);
+    }
+    
+    public int getFeatureType() {
         return mFeatureType;
     }
     
-    public String getProperty(String name) {
-        return mProperties.get(name);
+    public float getPosition() {
+        return mPosition;
+    }
+    
+    public int getPower() {
+        return mPower;
     }
 }
@@ -23,10 +23,14 @@
  */
 package com.turbogerm.hellhopper.dataaccess;
 
-import com.badlogic.gdx.utils.ObjectMap;
-
 public final class PlatformMovementData {
     
+    public static final int HORIZONTAL = 0;
+    public static final int VERTICAL = 1;
+    public static final int CIRCULAR = 2;
+    
+    // names used in rise section xml files
+    
     public static final String HORIZONTAL_MOVEMENT = "horizontal";
     public static final String VERTICAL_MOVEMENT = "vertical";
     public static final String CIRCULAR_MOVEMENT = "circular";
@@ -43,19 +47,64 @@ public final class PlatformMovementData {
     public static final String DIRECTION_CCW_PROPERTY_VALUE = "ccw";
     public static final String DIRECTION_CW_PROPERTY_VALUE = "cw";
     
-    private final String mMovementType;
-    private final ObjectMap<String, String> mProperties;
+    private final int mMovementType;
+    // meters per second for all movement types
+    private final float mSpeed;
+    
+    // horizontal and vertical movement
+    private final float mRange;
+    private final float mInitialOffset;
+    
+    // circular movement
+    private final float mRadius;
+    private final boolean mIsCcw;
+    private final float mInitialDegrees;
     
-    public PlatformMovementData(String movementType, ObjectMap<String, String> properties) {
+    private PlatformMovementData(int movementType, float speed, float range, float initialOffset,
+            float radius, boolean isCcw, float initialDegrees) {
         mMovementType = movementType;
-        mProperties = properties;
+        mSpeed = speed;
+        mRange = range;
+        mInitialOffset = initialOffset;
+        mRadius = radius;
+        mIsCcw = isCcw;
+        mInitialDegrees = initialDegrees;
     }
     
-    public String getMovementType() {
+    // movementType is HORIZONTAL or VERTICAL
+    public static PlatformMovementData createLinear(int movementType, float range, float speed, float initialOffset) {
+        return new PlatformMovementData(movementType, speed, range, initialOffset, 0.0f, false, 0.0f);
+    }
+    
+    public static PlatformMovementData createCircular(float radius, float speed, boolean isCcw, float initialDegrees) {
+        return new PlatformMovementData(CIRCULAR, speed, 0.0f, 0.0f, radius, isCcw, initialDegrees);
+    }
+    
+    public int getMovementType() {
         return mMovementType;
     }
     
-    public String getProperty(String name) {
-        return mProperties.get(name);
+    public float getSpeed() {
+        return mSpeed;
+    }
+    
+    public float getRange() {
+        return mRange;
+    }
+    
+    public float getInitialOffset() {
+        return mInitialOffset;
+    }
+    
+    public float getRadius() {
+        return mRadius;
+    }
+    
+    public boolean isCcw() {
+        return mIsCcw;
+    }
+    
+    public float getInitialDegrees() {
+        return mInitialDegrees;
     }
 }
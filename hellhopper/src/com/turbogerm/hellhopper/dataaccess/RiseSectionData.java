@@ -25,6 +25,7 @@ package com.turbogerm.hellhopper.dataaccess;
 
 import com.badlogic.gdx.utils.Array;
 
+// prebuilt and cached sections are shared between rises, nothing may modify them after creation
 public final class RiseSectionData {
     
     private final int mStepRange;
@@ -27,10 +27,10 @@ import java.io.IOException;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.XmlReader;
 import com.badlogic.gdx.utils.XmlReader.Element;
 import com.turbogerm.hellhopper.game.generator.RiseGeneratorUtils;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
 import com.turbogerm.hellhopper.util.Logger;
 
 public final class RiseSectionDataReader {
@@ -74,9 +74,8 @@ public final class RiseSectionDataReader {
         
         PlatformMovementData movementData = getMovementData(platformNode.getChildByName("movement"));
         Array<PlatformFeatureData> featuresData = getFeaturesData(platformNode.getChildByName("features"));
-        ObjectMap<String, String> properties = getProperties(platformNode.getChildByName("properties"));
         
-        return new PlatformData(type, step, offset, movementData, featuresData, properties);
+        return new PlatformData(type, step, offset, movementData, featuresData);
     }
     
     private static PlatformMovementData getMovementData(Element movementNode) {
@@ -85,9 +84,27 @@ public final class RiseSectionDataReader {
         }
         
         String type = movementNode.getAttribute("type");
-        ObjectMap<String, String> properties = getProperties(movementNode.getChildByName("properties"));
+        Element propertiesNode = movementNode.getChildByName("properties");
+        float speed = getFloatProperty(propertiesNode, PlatformMovementData.SPEED_PROPERTY);
         
-        return new PlatformMovementData(type, properties);
+        if (PlatformMovementData.HORIZONTAL_MOVEMENT.equals(type) ||
+                PlatformMovementData.VERTICAL_MOVEMENT.equals(type)) {
+            int movementType = PlatformMovementData.HORIZONTAL_MOVEMENT.equals(type) ?
+                    PlatformMovementData.HORIZONTAL : PlatformMovementData.VERTICAL;
+            float range = getFloatProperty(propertiesNode, PlatformMovementData.RANGE_PROPERTY);
+            float initialOffset = getFloatProperty(propertiesNode, PlatformMovementData.INITIAL_OFFSET_PROPERTY);
+            return PlatformMovementData.createLinear(movementType, range, speed, initialOffset);
+        } else if (PlatformMovementData.CIRCULAR_MOVEMENT.equals(type)) {
+            float radius = getFloatProperty(propertiesNode, PlatformMovementData.RADIUS_PROPERTY);
+            // anything but ccw moves clockwise
+            boolean isCcw = PlatformMovementData.DIRECTION_CCW_PROPERTY_VALUE.equals(
+                    getProperty(propertiesNode, PlatformMovementData.DIRECTION_PROPERTY));
+            float initialDegrees = getFloatProperty(propertiesNode, PlatformMovementData.INITIAL_DEGREES_PROPERTY);
+            return PlatformMovementData.createCircular(radius, speed, isCcw, initialDegrees);
+        } else {
+            ExceptionThrower.throwException("Invalid platform movement type: %s", type);
+            return null;
+        }
     }
     
     private static Array<PlatformFeatureData> getFeaturesData(Element featuresNode) {
@@ -108,26 +125,52 @@ public final class RiseSectionDataReader {
     
     private static PlatformFeatureData getFeatureData(Element featureNode) {
         String type = featureNode.getAttribute("type");
-        ObjectMap<String, String> properties = getProperties(featureNode.getChildByName("properties"));
+        if (!PlatformFeatureData.JUMP_BOOST_FEATURE.equals(type)) {
+            ExceptionThrower.throwException("Invalid platform feature type: %s", type);
+        }
+        
+        Element propertiesNode = featureNode.getChildByName("properties");
+        float position = getFloatProperty(propertiesNode, PlatformFeatureData.JUMP_BOOST_POSITION_PROPERTY);
+        int power = getPower(getProperty(propertiesNode, PlatformFeatureData.JUMP_BOOST_POWER_PROPERTY));
+        
+        return PlatformFeatureData.createJumpBoost(position, power);
+    }
+    
+    // anything but low or medium is high power
+    private static int getPower(String powerString) {
+        if (PlatformFeatureData.JUMP_BOOST_POWER_LOW_PROPERTY_VALUE.equals(powerString)) {
+            return PlatformFeatureData.JUMP_BOOST_POWER_LOW;
+        } else if (PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM_PROPERTY_VALUE.equals(powerString)) {
+            return PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM;
+        } else {
+            return PlatformFeatureData.JUMP_BOOST_POWER_HIGH;
+        }
+    }
+    
+    private static float getFloatProperty(Element propertiesNode, String name) {
+        String value = getProperty(propertiesNode, name);
+        if (value == null) {
+            ExceptionThrower.throwException("Missing platform property: %s", name);
+        }
         
-        return new PlatformFeatureData(type, properties);
+        return Float.parseFloat(value);
     }
     
-    private static ObjectMap<String, String> getProperties(Element propertiesNode) {
+    // null if there is no such property
+    private static String getProperty(Element propertiesNode, String name) {
         
         if (propertiesNode == null) {
             return null;
         }
         
         int numProperties = propertiesNode.getChildCount();
-        ObjectMap<String, String> properties = new ObjectMap<String, String>(numProperties);
         for (int i = 0; i < numProperties; i++) {
             Element propertyNode = propertiesNode.getChild(i);
-            String name = propertyNode.getAttribute("name");
-            String value = propertyNode.getAttribute("value");
-            properties.put(name, value);
+            if (name.equals(propertyNode.getAttribute("name"))) {
+                return propertyNode.getAttribute("value");
+            }
         }
         
-        return properties;
+        return null;
     }
 }
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.dataaccess;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.turbogerm.hellhopper.util.Logger;
+
+// rise sections compiled from xml by RiseSectionsPackCompiler, all values are big endian;
+// single sections in the same format are also used by RiseSectionCache:
+// pack: magic, version, section count, sections
+// section: name length, name bytes, step range, difficulty, platform count, platforms (sorted by step)
+// platform: type, step, offset, movement type, movement fields, feature count, features
+// linear movement: range, speed, initial offset
+// circular movement: radius, speed, direction, initial degrees
+// jump boost feature: type, position, power
+public final class RiseSectionsPack {
+    
+    public static final int FILE_MAGIC = 0x48485253; // "HHRS"
+    public static final int FILE_VERSION = 1;
+    
+    public static final byte PLATFORM_NORMAL = 0;
+    public static final byte PLATFORM_CRUMBLE = 1;
+    public static final byte PLATFORM_FLAME = 2;
+    
+    public static final byte MOVEMENT_NONE = 0;
+    public static final byte MOVEMENT_HORIZONTAL = 1;
+    public static final byte MOVEMENT_VERTICAL = 2;
+    public static final byte MOVEMENT_CIRCULAR = 3;
+    
+    public static final byte DIRECTION_CCW = 0;
+    public static final byte DIRECTION_CW = 1;
+    
+    public static final byte FEATURE_JUMP_BOOST = 0;
+    
+    public static final byte POWER_LOW = 0;
+    public static final byte POWER_MEDIUM = 1;
+    public static final byte POWER_HIGH = 2;
+    
+    // smallest encoded sizes in bytes, counts read from a damaged file are checked against what is left
+    private static final int MIN_RISE_SECTION_SIZE = 14;
+    private static final int MIN_PLATFORM_SIZE = 11;
+    private static final int FEATURE_SIZE = 6;
+    
+    private static final String[] PLATFORM_TYPES = {
+            PlatformData.NORMAL, PlatformData.CRUMBLE, PlatformData.FLAME };
+    
+    public static RiseSectionsData read(FileHandle fileHandle) {
+        try {
+            return read(getBuffer(fileHandle));
+        } catch (IOException e) {
+            Logger.error(e.getMessage());
+            return null;
+        } catch (BufferUnderflowException e) {
+            Logger.error("Truncated rise sections pack: %s", fileHandle.path());
+            return null;
+        } catch (IllegalArgumentException e) {
+            Logger.error("Invalid rise sections pack: %s", fileHandle.path());
+            return null;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            Logger.error("Invalid rise sections pack: %s", fileHandle.path());
+            return null;
+        }
+    }
+    
+    public static RiseSectionsData read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != FILE_MAGIC || buffer.getInt() != FILE_VERSION) {
+            throw new IOException("Invalid rise sections pack");
+        }
+        
+        int numRiseSections = getCount(buffer, buffer.getInt(), MIN_RISE_SECTION_SIZE);
+        ObjectMap<String, RiseSectionData> riseSections = new ObjectMap<String, RiseSectionData>(numRiseSections);
+        for (int i = 0; i < numRiseSections; i++) {
+            String name = getName(buffer);
+            riseSections.put(name, readRiseSection(buffer));
+        }
+        
+        return new RiseSectionsData(riseSections);
+    }
+    
+    // desktop internal and local files are plain files and are memory mapped,
+    // android assets live inside the apk and are read into memory
+    private static ByteBuffer getBuffer(FileHandle fileHandle) throws IOException {
+        if (fileHandle.type() != FileType.Classpath) {
+            File file = fileHandle.file();
+            if (file.isFile()) {
+                RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                try {
+                    FileChannel channel = randomAccessFile.getChannel();
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                } finally {
+                    randomAccessFile.close();
+                }
+            }
+        }
+        
+        return ByteBuffer.wrap(fileHandle.readBytes());
+    }
+    
+    // throws IllegalArgumentException for counts a damaged file could not hold
+    public static int getCount(ByteBuffer buffer, int count, int minEntrySize) {
+        if (count < 0 || count > buffer.remaining() / minEntrySize) {
+            throw new IllegalArgumentException("Invalid count");
+        }
+        
+        return count;
+    }
+    
+    private static String getName(ByteBuffer buffer) throws IOException {
+        byte[] nameBytes = new byte[getCount(buffer, buffer.getShort(), 1)];
+        buffer.get(nameBytes);
+        return new String(nameBytes, "UTF-8");
+    }
+    
+    public static RiseSectionData readRiseSection(ByteBuffer buffer) {
+        int stepRange = buffer.getInt();
+        int difficulty = buffer.getInt();
+        
+        int numPlatforms = getCount(buffer, buffer.getInt(), MIN_PLATFORM_SIZE);
+        Array<PlatformData> platformDataList = new Array<PlatformData>(true, numPlatforms);
+        for (int i = 0; i < numPlatforms; i++) {
+            platformDataList.add(getPlatformData(buffer));
+        }
+        
+        return new RiseSectionData(stepRange, difficulty, platformDataList);
+    }
+    
+    private static PlatformData getPlatformData(ByteBuffer buffer) {
+        String type = PLATFORM_TYPES[buffer.get()];
+        int step = buffer.getInt();
+        int offset = buffer.getInt();
+        
+        PlatformMovementData movementData = getMovementData(buffer);
+        Array<PlatformFeatureData> featuresData = getFeaturesData(buffer);
+        
+        return new PlatformData(type, step, offset, movementData, featuresData);
+    }
+    
+    private static PlatformMovementData getMovementData(ByteBuffer buffer) {
+        switch (buffer.get()) {
+            case MOVEMENT_NONE:
+                return null;
+                
+            case MOVEMENT_HORIZONTAL:
+                return getLinearMovementData(PlatformMovementData.HORIZONTAL, buffer);
+                
+            case MOVEMENT_VERTICAL:
+                return getLinearMovementData(PlatformMovementData.VERTICAL, buffer);
+                
+            case MOVEMENT_CIRCULAR:
+                float radius = buffer.getFloat();
+                float speed = buffer.getFloat();
+                boolean isCcw = buffer.get() == DIRECTION_CCW;
+                float initialDegrees = buffer.getFloat();
+                return PlatformMovementData.createCircular(radius, speed, isCcw, initialDegrees);
+                
+            default:
+                throw new IllegalArgumentException("Invalid movement type");
+        }
+    }
+    
+    private static PlatformMovementData getLinearMovementData(int movementType, ByteBuffer buffer) {
+        float range = buffer.getFloat();
+        float speed = buffer.getFloat();
+        float initialOffset = buffer.getFloat();
+        return PlatformMovementData.createLinear(movementType, range, speed, initialOffset);
+    }
+    
+    private static Array<PlatformFeatureData> getFeaturesData(ByteBuffer buffer) {
+        int numFeatures = getCount(buffer, buffer.get(), FEATURE_SIZE);
+        if (numFeatures == 0) {
+            return null;
+        }
+        
+        Array<PlatformFeatureData> featureDataList = new Array<PlatformFeatureData>(true, numFeatures);
+        for (int i = 0; i < numFeatures; i++) {
+            if (buffer.get() != FEATURE_JUMP_BOOST) {
+                throw new IllegalArgumentException("Invalid feature type");
+            }
+            
+            float position = buffer.getFloat();
+            int power = getPower(buffer.get());
+            featureDataList.add(PlatformFeatureData.createJumpBoost(position, power));
+        }
+        
+        return featureDataList;
+    }
+    
+    private static int getPower(byte powerCode) {
+        switch (powerCode) {
+            case POWER_LOW:
+                return PlatformFeatureData.JUMP_BOOST_POWER_LOW;
+            case POWER_MEDIUM:
+                return PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM;
+            case POWER_HIGH:
+                return PlatformFeatureData.JUMP_BOOST_POWER_HIGH;
+            default:
+                throw new IllegalArgumentException("Invalid jump boost power");
+        }
+    }
+    
+    // name is only used in error messages
+    public static void writeRiseSection(DataOutputStream output, String riseSectionName,
+            RiseSectionData riseSection) throws IOException {
+        
+        output.writeInt(riseSection.getStepRange());
+        output.writeInt(riseSection.getDifficulty());
+        
+        // platforms must already be sorted by step
+        Array<PlatformData> platformDataList = riseSection.getPlatformDataList();
+        output.writeInt(platformDataList.size);
+        for (int i = 0; i < platformDataList.size; i++) {
+            PlatformData platformData = platformDataList.get(i);
+            String platformName = String.format("%s, platform at step %d", riseSectionName, platformData.getStep());
+            
+            byte platformType = getPlatformTypeCode(platformData.getPlatformType());
+            if (platformType < 0) {
+                throw new IOException(String.format("invalid platform type '%s': %s",
+                        platformData.getPlatformType(), platformName));
+            }
+            output.writeByte(platformType);
+            output.writeInt(platformData.getStep());
+            output.writeInt(platformData.getOffset());
+            
+            writeMovement(output, platformData.getMovementData());
+            writeFeatures(output, platformName, platformData.getFeaturesData());
+        }
+    }
+    
+    private static void writeMovement(DataOutputStream output, PlatformMovementData movementData)
+            throws IOException {
+        
+        byte movementType = getMovementTypeCode(movementData);
+        output.writeByte(movementType);
+        
+        if (movementType == MOVEMENT_CIRCULAR) {
+            output.writeFloat(movementData.getRadius());
+            output.writeFloat(movementData.getSpeed());
+            output.writeByte(movementData.isCcw() ? DIRECTION_CCW : DIRECTION_CW);
+            output.writeFloat(movementData.getInitialDegrees());
+        } else if (movementType != MOVEMENT_NONE) {
+            output.writeFloat(movementData.getRange());
+            output.writeFloat(movementData.getSpeed());
+            output.writeFloat(movementData.getInitialOffset());
+        }
+    }
+    
+    private static void writeFeatures(DataOutputStream output, String platformName,
+            Array<PlatformFeatureData> featuresData) throws IOException {
+        
+        int numFeatures = featuresData != null ? featuresData.size : 0;
+        if (numFeatures > Byte.MAX_VALUE) {
+            throw new IOException(String.format("too many features: %s", platformName));
+        }
+        
+        output.writeByte(numFeatures);
+        for (int i = 0; i < numFeatures; i++) {
+            PlatformFeatureData featureData = featuresData.get(i);
+            output.writeByte(FEATURE_JUMP_BOOST);
+            output.writeFloat(featureData.getPosition());
+            output.writeByte(getPowerCode(featureData.getPower()));
+        }
+    }
+    
+    // -1 for unknown platform types
+    private static byte getPlatformTypeCode(String platformType) {
+        for (int i = 0; i < PLATFORM_TYPES.length; i++) {
+            if (PLATFORM_TYPES[i].equals(platformType)) {
+                return (byte) i;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private static byte getMovementTypeCode(PlatformMovementData movementData) {
+        if (movementData == null) {
+            return MOVEMENT_NONE;
+        }
+        
+        switch (movementData.getMovementType()) {
+            case PlatformMovementData.HORIZONTAL:
+                return MOVEMENT_HORIZONTAL;
+            case PlatformMovementData.VERTICAL:
+                return MOVEMENT_VERTICAL;
+            default:
+                return MOVEMENT_CIRCULAR;
+        }
+    }
+    
+    private static byte getPowerCode(int power) {
+        switch (power) {
+            case PlatformFeatureData.JUMP_BOOST_POWER_LOW:
+                return POWER_LOW;
+            case PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM:
+                return POWER_MEDIUM;
+            default:
+                return POWER_HIGH;
+        }
+    }
+}
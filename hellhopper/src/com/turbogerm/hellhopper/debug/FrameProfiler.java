@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.debug;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StringBuilder;
+
+// accumulates the time spent in each phase during a frame and feeds the per frame totals
+// into rolling histograms; timing and the overlay text do not allocate, dumps do
+public final class FrameProfiler {
+    
+    public static final int UPDATE_VISIBLE_PLATFORMS = 0;
+    public static final int UPDATE_PLATFORMS = 1;
+    public static final int UPDATE_CHARACTER = 2;
+    public static final int RENDER_GAME_AREA = 3;
+    public static final int DRAW_GUI_STAGE = 4;
+    public static final int PHASE_COUNT = 5;
+    
+    private static final String[] PHASE_NAMES;
+    
+    private static final float[] PERCENTILES = { 50.0f, 95.0f, 99.0f };
+    private static final String[] PERCENTILE_NAMES = { "p50", "p95", "p99" };
+    
+    private final long[] mPhaseStartTimes;
+    private final long[] mFramePhaseTimes;
+    private final PhaseHistogram[] mHistograms;
+    
+    private final StringBuilder mSummary;
+    
+    static {
+        PHASE_NAMES = new String[PHASE_COUNT];
+        PHASE_NAMES[UPDATE_VISIBLE_PLATFORMS] = "visible";
+        PHASE_NAMES[UPDATE_PLATFORMS] = "platforms";
+        PHASE_NAMES[UPDATE_CHARACTER] = "character";
+        PHASE_NAMES[RENDER_GAME_AREA] = "render";
+        PHASE_NAMES[DRAW_GUI_STAGE] = "gui";
+    }
+    
+    public FrameProfiler() {
+        mPhaseStartTimes = new long[PHASE_COUNT];
+        mFramePhaseTimes = new long[PHASE_COUNT];
+        mHistograms = new PhaseHistogram[PHASE_COUNT];
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            mHistograms[i] = new PhaseHistogram();
+        }
+        
+        mSummary = new StringBuilder();
+    }
+    
+    public void reset() {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            mFramePhaseTimes[i] = 0l;
+            mHistograms[i].reset();
+        }
+    }
+    
+    public void begin(int phase) {
+        mPhaseStartTimes[phase] = System.nanoTime();
+    }
+    
+    // a phase can run several times per frame (one per update step), the times add up
+    public void end(int phase) {
+        mFramePhaseTimes[phase] += System.nanoTime() - mPhaseStartTimes[phase];
+    }
+    
+    public void endFrame() {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            mHistograms[i].add((int) Math.min(mFramePhaseTimes[i], Integer.MAX_VALUE));
+            mFramePhaseTimes[i] = 0l;
+        }
+    }
+    
+    public PhaseHistogram getHistogram(int phase) {
+        return mHistograms[phase];
+    }
+    
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+    
+    // one line per phase, values in microseconds; the returned builder is reused by the next call
+    public CharSequence getSummary() {
+        mSummary.setLength(0);
+        mSummary.append("us: p50 p95 p99 max");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            PhaseHistogram histogram = mHistograms[i];
+            mSummary.append('\n').append(PHASE_NAMES[i]).append(':');
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                appendMicros(histogram.getPercentile(PERCENTILES[j]));
+            }
+            appendMicros(histogram.getMax());
+        }
+        
+        return mSummary;
+    }
+    
+    private void appendMicros(int nanos) {
+        mSummary.append(' ').append(nanos / 1000).append('.').append(nanos / 100 % 10);
+    }
+    
+    public void writeCsv(FileHandle fileHandle) {
+        java.lang.StringBuilder csv = new java.lang.StringBuilder();
+        csv.append("phase,samples");
+        for (int j = 0; j < PERCENTILES.length; j++) {
+            csv.append(',').append(PERCENTILE_NAMES[j]).append("_ns");
+        }
+        csv.append(",max_ns\n");
+        
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            PhaseHistogram histogram = mHistograms[i];
+            csv.append(PHASE_NAMES[i]).append(',').append(histogram.getSampleCount());
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                csv.append(',').append(histogram.getPercentile(PERCENTILES[j]));
+            }
+            csv.append(',').append(histogram.getMax()).append('\n');
+        }
+        
+        fileHandle.writeString(csv.toString(), false);
+    }
+    
+    public void writeJson(FileHandle fileHandle) {
+        java.lang.StringBuilder json = new java.lang.StringBuilder();
+        json.append("{\n    \"unit\": \"ns\",\n    \"window\": ").append(PhaseHistogram.WINDOW_SIZE);
+        json.append(",\n    \"phases\": [");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            PhaseHistogram histogram = mHistograms[i];
+            json.append(i > 0 ? ",\n" : "\n");
+            json.append("        { \"phase\": \"").append(PHASE_NAMES[i]).append('"');
+            json.append(", \"samples\": ").append(histogram.getSampleCount());
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                json.append(", \"").append(PERCENTILE_NAMES[j]).append("\": ");
+                json.append(histogram.getPercentile(PERCENTILES[j]));
+            }
+            json.append(", \"max\": ").append(histogram.getMax()).append(" }");
+        }
+        json.append("\n    ]\n}\n");
+        
+        fileHandle.writeString(json.toString(), false);
+    }
+}
@@ -25,6 +25,7 @@ package com.turbogerm.hellhopper.debug;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.StringBuilder;
 
 public final class PerformanceData {
     
@@ -33,19 +34,31 @@ public final class PerformanceData {
     private int mMaxSpritesInBatch;
     
     private final SpriteBatch mBatch;
+    private final StringBuilder mText;
     
     public PerformanceData(SpriteBatch batch) {
         mBatch = batch;
+        mText = new StringBuilder();
     }
     
     public void update() {
         mFps = Gdx.graphics.getFramesPerSecond();
         mRenderCalls = mBatch.renderCalls;
         mMaxSpritesInBatch = mBatch.maxSpritesInBatch;
+        
+        mText.setLength(0);
+        mText.append("FPS: ").append(mFps);
+        mText.append("; CALLS: ").append(mRenderCalls);
+        mText.append("; BATCH: ").append(mMaxSpritesInBatch);
+    }
+    
+    // reused between updates, so it is built without allocating
+    public CharSequence getText() {
+        return mText;
     }
     
     @Override
     public String toString() {
-        return String.format("FPS: %d; CALLS: %d; BATCH: %d", mFps, mRenderCalls, mMaxSpritesInBatch);
+        return mText.toString();
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.debug;
+
+// rolling histogram of the last WINDOW_SIZE samples, in nanoseconds;
+// buckets are log-linear (16 sub-buckets per power of two), so percentiles are within about 6%
+public final class PhaseHistogram {
+    
+    public static final int WINDOW_SIZE = 600;
+    
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 30;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+    private static final int MAX_BUCKET_VALUE = (1 << (MAX_EXPONENT + 1)) - 1;
+    
+    private final int[] mSamples;
+    private final int[] mBucketCounts;
+    private int mSampleIndex;
+    private int mSampleCount;
+    
+    public PhaseHistogram() {
+        mSamples = new int[WINDOW_SIZE];
+        mBucketCounts = new int[BUCKET_COUNT];
+    }
+    
+    public void reset() {
+        mSampleIndex = 0;
+        mSampleCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mBucketCounts[i] = 0;
+        }
+    }
+    
+    public void add(int nanos) {
+        if (mSampleCount == WINDOW_SIZE) {
+            mBucketCounts[getBucket(mSamples[mSampleIndex])]--;
+        } else {
+            mSampleCount++;
+        }
+        
+        mSamples[mSampleIndex] = nanos;
+        mBucketCounts[getBucket(nanos)]++;
+        mSampleIndex = (mSampleIndex + 1) % WINDOW_SIZE;
+    }
+    
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+    
+    // percentile in range [0, 100]; returns the upper bound of the bucket holding it
+    public int getPercentile(float percentile) {
+        if (mSampleCount == 0) {
+            return 0;
+        }
+        
+        int rank = Math.max((int) Math.ceil(mSampleCount * percentile / 100.0f), 1);
+        int count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += mBucketCounts[i];
+            if (count >= rank) {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+        
+        return getMax();
+    }
+    
+    public int getMax() {
+        int max = 0;
+        for (int i = 0; i < mSampleCount; i++) {
+            max = Math.max(max, mSamples[i]);
+        }
+        
+        return max;
+    }
+    
+    private static int getBucket(int nanos) {
+        if (nanos < SUB_BUCKET_COUNT) {
+            return Math.max(nanos, 0);
+        }
+        
+        int exponent = 31 - Integer.numberOfLeadingZeros(Math.min(nanos, MAX_BUCKET_VALUE));
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (Math.min(nanos, MAX_BUCKET_VALUE) >> shift) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT * (shift + 1) + subBucket;
+    }
+    
+    private static int getBucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        int subBucket = bucket % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
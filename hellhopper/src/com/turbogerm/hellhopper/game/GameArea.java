@@ -23,21 +23,13 @@
  */
 package com.turbogerm.hellhopper.game;
 
-import com.badlogic.gdx.Application.ApplicationType;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input.Keys;
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 import com.turbogerm.hellhopper.HellHopper;
-import com.turbogerm.hellhopper.ResourceNames;
 import com.turbogerm.hellhopper.dataaccess.PlatformData;
-import com.turbogerm.hellhopper.debug.PerformanceData;
-import com.turbogerm.hellhopper.game.generator.RiseGenerator;
-import com.turbogerm.hellhopper.game.platforms.PlatformBase;
+import com.turbogerm.hellhopper.debug.FrameProfiler;
+import com.turbogerm.hellhopper.game.generator.RiseSectionSource;
+import com.turbogerm.hellhopper.game.platforms.Platform;
 import com.turbogerm.hellhopper.util.Pools;
 
 public final class GameArea {
@@ -48,27 +40,16 @@ public final class GameArea {
     public static final float GAME_AREA_WIDTH = HellHopper.VIEWPORT_WIDTH * PIXEL_TO_METER;
     public static final float GAME_AREA_HEIGHT = HellHopper.VIEWPORT_HEIGHT * PIXEL_TO_METER;
     
-    private static final float CHARACTER_POSITION_AREA_FRACTION = 0.4f;
-    
-    private static final float DEFAULT_HORIZONTAL_SPEED = 10.0f;
-    private static final float ACCELEROMETER_SPEED_MULTIPLIER = 3.75f;
+    public static final float CHARACTER_POSITION_AREA_FRACTION = 0.4f;
     
     private static final float MAX_DELTA = 0.1f;
     private static final float UPDATE_RATE = 60.0f;
     private static final float UPDATE_STEP = 1.0f / UPDATE_RATE;
     
-    private static final float END_LINE_HEIGHT = 0.1f;
-    
     private static final float ACTIVE_PLATFORMS_AREA_PADDING = 5.0f;
     
     private static final int VISIBLE_PLATFORMS_INITIAL_CAPACITY = 50;
     
-    private final AssetManager mAssetManager;
-    private final SpriteBatch mBatch;
-    private final PerformanceData mPerformanceData;
-    
-    private final Texture mEndLineTexture;
-    
     private Rise mRise;
     private float mRiseHeight;
     
@@ -79,39 +60,27 @@ public final class GameArea {
     private final PlatformToCharCollisionData mPlatformToCharCollisionData;
     
     private float mDeltaAccumulator;
+    // platform movement and cycles are functions of this time
+    private float mGameTime;
     
-    private int mMinVisiblePlatformIndex;
-    private final Array<PlatformBase> mVisiblePlatforms;
+    private final Array<Platform> mVisiblePlatforms;
     
     private boolean mIsGameOver;
     
-    private final BackgroundColorInterpolator mBackgroundColorInterpolator;
-    private final Color mBackgroundColor;
-    
+    private FrameProfiler mProfiler;
     
-    public GameArea(AssetManager assetManager) {
+    public GameArea() {
         
-        mAssetManager = assetManager;
-        mBatch = new SpriteBatch();
-        mPerformanceData = new PerformanceData(mBatch);
-        
-        mEndLineTexture = mAssetManager.get(ResourceNames.GAME_END_LINE_TEXTURE);
-        
-        mCharacter = new GameCharacter(mAssetManager);
+        mCharacter = new GameCharacter();
         mPlatformToCharCollisionData = new PlatformToCharCollisionData();
         
-        mVisiblePlatforms = new Array<PlatformBase>(false, VISIBLE_PLATFORMS_INITIAL_CAPACITY);
-        
-        mBackgroundColorInterpolator = new BackgroundColorInterpolator();
-        mBackgroundColor = new Color();
-        
-        reset();
+        mVisiblePlatforms = new Array<Platform>(false, VISIBLE_PLATFORMS_INITIAL_CAPACITY);
     }
     
-    public void reset() {
+    public void reset(RiseSectionSource riseSectionSource) {
         mIsGameOver = false;
         
-        mRise = RiseGenerator.generate(mAssetManager);
+        mRise = new Rise(riseSectionSource);
         mRiseHeight = mRise.getHeight();
         
         mScore = 0;
@@ -120,14 +89,12 @@ public final class GameArea {
         mCharacter.reset(mRiseHeight);
         
         mDeltaAccumulator = 0.0f;
+        mGameTime = 0.0f;
         
-        mMinVisiblePlatformIndex = 0;
-        
-        mBackgroundColorInterpolator.setRiseHeight(mRiseHeight);
-        mBackgroundColor.set(Color.BLACK);
+        mVisiblePlatforms.clear();
     }
     
-    public void update(float delta) {
+    public void update(float delta, float horizontalSpeed) {
         
         if (delta > MAX_DELTA) {
             delta = MAX_DELTA;
@@ -138,8 +105,6 @@ public final class GameArea {
             return;
         }
         
-        float horizontalSpeed = getHorizontalSpeed();
-        
         mDeltaAccumulator += delta;
         while (mDeltaAccumulator >= UPDATE_STEP) {
             updateStep(horizontalSpeed, UPDATE_STEP);
@@ -151,73 +116,57 @@ public final class GameArea {
         
         float effectiveCharPositionY = Math.min(mCharacter.getPosition().y, mRiseHeight);
         mScore = Math.max(mScore, (int) (effectiveCharPositionY * METER_TO_PIXEL));
-        
-        mBackgroundColor.set(mBackgroundColorInterpolator.getBackgroundColor(mVisibleAreaPosition));
     }
     
-    public void render(float delta) {
-        
-        mBatch.getProjectionMatrix().setToOrtho2D(0.0f, mVisibleAreaPosition, GAME_AREA_WIDTH, GAME_AREA_HEIGHT);
-        mBatch.begin();
+    void updateStep(float horizontalSpeed, float delta) {
         
-        for (PlatformBase platform : mVisiblePlatforms) {
-            platform.render(mBatch, delta);
+        if (mProfiler != null) {
+            updateStepProfiled(horizontalSpeed, delta);
+            return;
         }
         
-        mBatch.draw(mEndLineTexture, 0.0f, mRiseHeight - END_LINE_HEIGHT, GAME_AREA_WIDTH, END_LINE_HEIGHT);
+        updateVisiblePlatformsList();
+        
+        mGameTime += delta;
+        updatePlatforms(mGameTime);
         
-        mCharacter.render(mBatch);
+        mCharacter.updateStep(horizontalSpeed, mPlatformToCharCollisionData, mVisiblePlatforms, delta);
         
-        mBatch.end();
+        updateVisibleAreaPosition();
     }
     
-    private void updateStep(float horizontalSpeed, float delta) {
+    private void updateStepProfiled(float horizontalSpeed, float delta) {
         
+        mProfiler.begin(FrameProfiler.UPDATE_VISIBLE_PLATFORMS);
         updateVisiblePlatformsList();
+        mProfiler.end(FrameProfiler.UPDATE_VISIBLE_PLATFORMS);
         
-        updatePlatforms(delta);
+        mProfiler.begin(FrameProfiler.UPDATE_PLATFORMS);
+        mGameTime += delta;
+        updatePlatforms(mGameTime);
+        mProfiler.end(FrameProfiler.UPDATE_PLATFORMS);
         
+        mProfiler.begin(FrameProfiler.UPDATE_CHARACTER);
         mCharacter.updateStep(horizontalSpeed, mPlatformToCharCollisionData, mVisiblePlatforms, delta);
+        mProfiler.end(FrameProfiler.UPDATE_CHARACTER);
         
+        updateVisibleAreaPosition();
+    }
+    
+    private void updateVisibleAreaPosition() {
         mVisibleAreaPosition = Math.max(
                 mVisibleAreaPosition, mCharacter.getPosition().y -
                 GAME_AREA_HEIGHT * CHARACTER_POSITION_AREA_FRACTION);
     }
     
-    private float getHorizontalSpeed() {
-        if (Gdx.app.getType() == ApplicationType.Desktop) {
-            if (Gdx.input.isKeyPressed(Keys.LEFT) && !Gdx.input.isKeyPressed(Keys.RIGHT)) {
-                return -DEFAULT_HORIZONTAL_SPEED;
-            } else if (Gdx.input.isKeyPressed(Keys.RIGHT) && !Gdx.input.isKeyPressed(Keys.LEFT)) {
-                return DEFAULT_HORIZONTAL_SPEED;
-            } else {
-                return 0.0f;
-            }
-        } else if (Gdx.app.getType() == ApplicationType.Android) {
-            return -Gdx.input.getAccelerometerX() * ACCELEROMETER_SPEED_MULTIPLIER;
-        } else {
-            return 0.0f;
-        }
-    }
-    
     private void updateVisiblePlatformsList() {
-        mVisiblePlatforms.clear();
-        Array<PlatformBase> allPlatforms = mRise.getPlatforms();
+        mRise.update(mVisibleAreaPosition, ACTIVE_PLATFORMS_AREA_PADDING);
         
-        boolean isFirstVisible = true;
-        for (int i = mMinVisiblePlatformIndex; i < allPlatforms.size; i++) {
-            PlatformBase platform = allPlatforms.get(i);
-            if (platform.isActive(mVisibleAreaPosition, ACTIVE_PLATFORMS_AREA_PADDING)) {
-                if (isFirstVisible) {
-                    mMinVisiblePlatformIndex = i;
-                    isFirstVisible = false;
-                }
-                mVisiblePlatforms.add(platform);
-            }
-        }
+        mVisiblePlatforms.clear();
+        mRise.fillActivePlatforms(mVisibleAreaPosition, ACTIVE_PLATFORMS_AREA_PADDING, mGameTime, mVisiblePlatforms);
     }
     
-    private void updatePlatforms(float delta) {
+    private void updatePlatforms(float gameTime) {
         Vector2 c1 = Pools.obtainVector();
         Vector2 c2 = Pools.obtainVector();
         mPlatformToCharCollisionData.reset();
@@ -230,20 +179,20 @@ public final class GameArea {
         // only check for collision when character is going down
         mPlatformToCharCollisionData.isEnabled = mCharacter.getSpeed().y < 0.0f;
         
-        for (PlatformBase platform : mVisiblePlatforms) {
-            platform.update(delta, c1, c2, mPlatformToCharCollisionData);
-        }
+        mRise.updatePlatforms(mVisibleAreaPosition, ACTIVE_PLATFORMS_AREA_PADDING, gameTime,
+                c1, c2, mPlatformToCharCollisionData);
         
         Pools.freeVector(c1);
         Pools.freeVector(c2);
     }
     
-    public int getScore() {
-        return mScore;
+    // null disables profiling
+    public void setProfiler(FrameProfiler profiler) {
+        mProfiler = profiler;
     }
     
-    public Color getBackgroundColor() {
-        return mBackgroundColor;
+    public int getScore() {
+        return mScore;
     }
     
     public boolean isGameOver() {
@@ -254,11 +203,19 @@ public final class GameArea {
         return mRiseHeight;
     }
     
+    public boolean isRiseEndless() {
+        return mRise.isEndless();
+    }
+    
     public float getVisibleAreaPosition() {
         return mVisibleAreaPosition;
     }
     
-    public PerformanceData getPerformanceData() {
-        return mPerformanceData;
+    public GameCharacter getCharacter() {
+        return mCharacter;
+    }
+    
+    public Array<Platform> getVisiblePlatforms() {
+        return mVisiblePlatforms;
     }
 }
@@ -23,20 +23,16 @@
  */
 package com.turbogerm.hellhopper.game;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
-import com.turbogerm.hellhopper.ResourceNames;
-import com.turbogerm.hellhopper.game.platforms.PlatformBase;
+import com.turbogerm.hellhopper.game.platforms.Platform;
 import com.turbogerm.hellhopper.util.GameUtils;
 import com.turbogerm.hellhopper.util.Pools;
 
 public final class GameCharacter {
     
-    private static final float WIDTH = 1.0f;
-    private static final float HEIGHT = 1.5f;
+    public static final float WIDTH = 1.0f;
+    public static final float HEIGHT = 1.5f;
     private static final float CHARACTER_CENTER_X_OFFSET = WIDTH / 2.0f;
     public static final float COLLISION_WIDTH = WIDTH * 0.6f;
     public static final float COLLISION_WIDTH_OFFSET = (WIDTH - COLLISION_WIDTH) / 2.0f;
@@ -45,14 +41,13 @@ public final class GameCharacter {
     private static final float EPSILON = 1e-5f;
     
     public static final float JUMP_SPEED = 21.25f;
-    private static final float GRAVITY = 35.0f;
+    public static final float DEFAULT_HORIZONTAL_SPEED = 10.0f;
+    public static final float GRAVITY = 35.0f;
     
     private static final float END_RESTITUTION_MULTIPLIER = 1.0f / 1.5f;
     private static final float END_RESTITUTION_SPEED_DECREASE = 0.75f;
     private static final float END_REACHED_COUTDOWN_DURATION = 3.0f;
     
-    private final Texture mCharacterTexture;
-    
     private final Vector2 mPosition;
     private final Vector2 mSpeed;
     
@@ -65,9 +60,7 @@ public final class GameCharacter {
     private final CharCollisionData mCharCollisionData;
     private final CollisionEffect mCollisionEffect;
     
-    public GameCharacter(AssetManager assetManager) {
-        mCharacterTexture = assetManager.get(ResourceNames.GAME_CHARACTER_TEXTURE);
-        
+    public GameCharacter() {
         mPosition = new Vector2();
         mSpeed = new Vector2();
         
@@ -119,7 +112,7 @@ public final class GameCharacter {
     
     public void updateStep(float horizontalSpeed,
             PlatformToCharCollisionData platformToCharCollisionData,
-            Array<PlatformBase> visiblePlatforms,
+            Array<Platform> visiblePlatforms,
             float delta) {
         
         boolean isCollision = false;
@@ -161,10 +154,6 @@ public final class GameCharacter {
         }
     }
     
-    public void render(SpriteBatch batch) {
-        batch.draw(mCharacterTexture, mPosition.x, mPosition.y, WIDTH, HEIGHT);
-    }
-    
     private boolean processCollision() {
         
         mCharCollisionData.collisionPlatform.fillCollisionEffect(
@@ -190,8 +179,8 @@ public final class GameCharacter {
         return true;
     }
     
-    private static boolean isCollisionWithPlatform(
-            Array<PlatformBase> platforms,
+    static boolean isCollisionWithPlatform(
+            Array<Platform> platforms,
             Vector2 c1, Vector2 c2, Vector2 intersection, CharCollisionData charCollisionData) {
         
         // only check for collision when character is going down
@@ -199,7 +188,8 @@ public final class GameCharacter {
             return false;
         }
         
-        for (PlatformBase platform : platforms) {
+        for (int i = 0; i < platforms.size; i++) {
+            Platform platform = platforms.get(i);
             if (platform.isCollision(c1, c2, intersection)) {
                 charCollisionData.collisionPlatform = platform;
                 charCollisionData.collisionPointX = intersection.x;
@@ -218,9 +208,17 @@ public final class GameCharacter {
         return mSpeed;
     }
     
-    private static class CharCollisionData {
+    public boolean isDead() {
+        return mIsDead;
+    }
+    
+    public boolean isEndReached() {
+        return mIsEndReached;
+    }
+    
+    static class CharCollisionData {
         
-        public PlatformBase collisionPlatform;
+        public Platform collisionPlatform;
         public float collisionPointX;
     }
 }
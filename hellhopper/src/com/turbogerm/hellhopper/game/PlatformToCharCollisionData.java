@@ -24,13 +24,13 @@
 package com.turbogerm.hellhopper.game;
 
 import com.badlogic.gdx.math.Vector2;
-import com.turbogerm.hellhopper.game.platforms.PlatformBase;
+import com.turbogerm.hellhopper.game.platforms.Platform;
 
 public final class PlatformToCharCollisionData {
     
     public boolean isCollision;
     public final Vector2 collisionPoint;
-    public PlatformBase collisionPlatform;
+    public Platform collisionPlatform;
     public boolean isEnabled;
     
     public PlatformToCharCollisionData() {
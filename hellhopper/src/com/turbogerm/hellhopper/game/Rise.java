@@ -23,24 +23,218 @@
  */
 package com.turbogerm.hellhopper.game;
 
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
-import com.turbogerm.hellhopper.game.platforms.PlatformBase;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.game.generator.RiseSectionSource;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+import com.turbogerm.hellhopper.game.platforms.PlatformStore;
 
 public final class Rise {
     
+    // rise sections are materialized when they get this close to the top of the active area
+    private static final float MATERIALIZE_LOOKAHEAD = GameArea.GAME_AREA_HEIGHT;
+    // rise sections are released when they are this far below the bottom of the active area;
+    // vertically moving platforms can rise above the top of their rise section
+    private static final float RELEASE_MARGIN = GameArea.GAME_AREA_HEIGHT;
+    
+    private static final int RISE_SECTIONS_INITIAL_CAPACITY = 4;
+    
+    private final RiseSectionSource mRiseSectionSource;
     private final float mHeight;
-    private final Array<PlatformBase> mPlatforms;
     
-    public Rise(float height, Array<PlatformBase> platforms) {
-        mHeight = height;
-        mPlatforms = platforms;
+    // materialized rise sections, ordered from bottom to top
+    private final Array<IndexedRiseSection> mRiseSections;
+    private int mNextRiseSectionStartStep;
+    private boolean mIsRiseSectionSourceExhausted;
+    
+    public Rise(RiseSectionSource riseSectionSource) {
+        mRiseSectionSource = riseSectionSource;
+        
+        int totalStepRange = mRiseSectionSource.getTotalStepRange();
+        mHeight = totalStepRange == RiseSectionSource.ENDLESS_STEP_RANGE ?
+                Float.POSITIVE_INFINITY : totalStepRange * PlatformData.STEP_HEIGHT;
+        
+        mRiseSections = new Array<IndexedRiseSection>(true, RISE_SECTIONS_INITIAL_CAPACITY);
+        mNextRiseSectionStartStep = 0;
+        mIsRiseSectionSourceExhausted = false;
+    }
+    
+    public void update(float visibleAreaPosition, float activePlatformsAreaPadding) {
+        float activeRangeLower = getActiveRangeLower(visibleAreaPosition, activePlatformsAreaPadding);
+        float activeRangeUpper = getActiveRangeUpper(visibleAreaPosition, activePlatformsAreaPadding);
+        
+        while (!mIsRiseSectionSourceExhausted &&
+                mNextRiseSectionStartStep * PlatformData.STEP_HEIGHT <= activeRangeUpper + MATERIALIZE_LOOKAHEAD) {
+            RiseSectionData riseSectionData = mRiseSectionSource.getNextRiseSection();
+            if (riseSectionData != null) {
+                mRiseSections.add(new IndexedRiseSection(riseSectionData, mNextRiseSectionStartStep));
+                mNextRiseSectionStartStep += riseSectionData.getStepRange();
+            } else {
+                mIsRiseSectionSourceExhausted = true;
+            }
+        }
+        
+        while (mRiseSections.size > 0 && mRiseSections.first().getTop() + RELEASE_MARGIN < activeRangeLower) {
+            mRiseSections.removeIndex(0);
+        }
+    }
+    
+    public void fillActivePlatforms(float visibleAreaPosition, float activePlatformsAreaPadding, float gameTime,
+            Array<Platform> activePlatforms) {
+        
+        float activeRangeLower = getActiveRangeLower(visibleAreaPosition, activePlatformsAreaPadding);
+        float activeRangeUpper = getActiveRangeUpper(visibleAreaPosition, activePlatformsAreaPadding);
+        int firstStep = getStep(activeRangeLower);
+        int lastStep = getStep(activeRangeUpper);
+        
+        for (int i = 0; i < mRiseSections.size; i++) {
+            mRiseSections.get(i).fillActivePlatforms(firstStep, lastStep,
+                    activeRangeLower, activeRangeUpper, gameTime, activePlatforms);
+        }
+    }
+    
+    // updates platforms in the active area; c1 and c2 are the character collision line
+    public void updatePlatforms(float visibleAreaPosition, float activePlatformsAreaPadding, float gameTime,
+            Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+        
+        float activeRangeLower = getActiveRangeLower(visibleAreaPosition, activePlatformsAreaPadding);
+        float activeRangeUpper = getActiveRangeUpper(visibleAreaPosition, activePlatformsAreaPadding);
+        int firstStep = getStep(activeRangeLower);
+        int lastStep = getStep(activeRangeUpper);
+        
+        for (int i = 0; i < mRiseSections.size; i++) {
+            mRiseSections.get(i).updatePlatforms(firstStep, lastStep,
+                    activeRangeLower, activeRangeUpper, gameTime, c1, c2, collisionData);
+        }
     }
     
     public float getHeight() {
         return mHeight;
     }
     
-    public Array<PlatformBase> getPlatforms() {
-        return mPlatforms;
+    public boolean isEndless() {
+        return mRiseSectionSource.getTotalStepRange() == RiseSectionSource.ENDLESS_STEP_RANGE;
+    }
+    
+    private static float getActiveRangeLower(float visibleAreaPosition, float activePlatformsAreaPadding) {
+        return visibleAreaPosition - PlatformData.PLATFORM_HEIGHT - activePlatformsAreaPadding;
+    }
+    
+    private static float getActiveRangeUpper(float visibleAreaPosition, float activePlatformsAreaPadding) {
+        return visibleAreaPosition + GameArea.GAME_AREA_HEIGHT + activePlatformsAreaPadding;
+    }
+    
+    private static int getStep(float y) {
+        return (int) Math.floor(y / PlatformData.STEP_HEIGHT);
+    }
+    
+    private static final class IndexedRiseSection {
+        
+        private final int mStartStep;
+        private final int mStepRange;
+        
+        // platforms that keep their height are bucketed by step and stored first;
+        // platforms in step bucket i are in range [mStepStartIndexes[i], mStepStartIndexes[i + 1])
+        private final PlatformStore mPlatformStore;
+        private final int[] mStepStartIndexes;
+        
+        // vertically moving platforms can leave their step bucket, so they are stored last and always checked
+        private final int mVerticallyMovingStartIndex;
+        
+        public IndexedRiseSection(RiseSectionData riseSectionData, int startStep) {
+            mStartStep = startStep;
+            mStepRange = riseSectionData.getStepRange();
+            
+            Array<PlatformData> platformDataList = riseSectionData.getPlatformDataList();
+            mStepStartIndexes = new int[mStepRange + 1];
+            
+            int verticallyMovingCount = 0;
+            for (int i = 0; i < platformDataList.size; i++) {
+                PlatformData platformData = platformDataList.get(i);
+                if (PlatformStore.hasVerticalMovement(platformData)) {
+                    verticallyMovingCount++;
+                } else {
+                    mStepStartIndexes[getLocalStep(platformData) + 1]++;
+                }
+            }
+            
+            for (int i = 0; i < mStepRange; i++) {
+                mStepStartIndexes[i + 1] += mStepStartIndexes[i];
+            }
+            
+            mVerticallyMovingStartIndex = mStepStartIndexes[mStepRange];
+            
+            PlatformData[] orderedPlatformData = new PlatformData[platformDataList.size];
+            int[] insertIndexes = new int[mStepRange];
+            System.arraycopy(mStepStartIndexes, 0, insertIndexes, 0, mStepRange);
+            int verticallyMovingInsertIndex = mVerticallyMovingStartIndex;
+            for (int i = 0; i < platformDataList.size; i++) {
+                PlatformData platformData = platformDataList.get(i);
+                if (PlatformStore.hasVerticalMovement(platformData)) {
+                    orderedPlatformData[verticallyMovingInsertIndex] = platformData;
+                    verticallyMovingInsertIndex++;
+                } else {
+                    int localStep = getLocalStep(platformData);
+                    orderedPlatformData[insertIndexes[localStep]] = platformData;
+                    insertIndexes[localStep]++;
+                }
+            }
+            
+            mPlatformStore = new PlatformStore(orderedPlatformData, mStartStep);
+        }
+        
+        public void fillActivePlatforms(int firstStep, int lastStep, float activeRangeLower, float activeRangeUpper,
+                float gameTime, Array<Platform> activePlatforms) {
+            
+            int firstLocalStep = Math.max(firstStep - mStartStep, 0);
+            int lastLocalStep = Math.min(lastStep - mStartStep, mStepRange - 1);
+            if (firstLocalStep <= lastLocalStep) {
+                int endIndex = mStepStartIndexes[lastLocalStep + 1];
+                for (int i = mStepStartIndexes[firstLocalStep]; i < endIndex; i++) {
+                    if (mPlatformStore.isActive(i, activeRangeLower, activeRangeUpper)) {
+                        activePlatforms.add(mPlatformStore.getPlatform(i));
+                    }
+                }
+            }
+            
+            // off screen platforms are not updated, so position is evaluated for current time
+            // before checking if the platform moved into the active area
+            int size = mPlatformStore.getSize();
+            mPlatformStore.updatePositions(mVerticallyMovingStartIndex, size, gameTime);
+            for (int i = mVerticallyMovingStartIndex; i < size; i++) {
+                if (mPlatformStore.isActive(i, activeRangeLower, activeRangeUpper)) {
+                    activePlatforms.add(mPlatformStore.getPlatform(i));
+                }
+            }
+        }
+        
+        public void updatePlatforms(int firstStep, int lastStep, float activeRangeLower, float activeRangeUpper,
+                float gameTime, Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+            
+            int firstLocalStep = Math.max(firstStep - mStartStep, 0);
+            int lastLocalStep = Math.min(lastStep - mStartStep, mStepRange - 1);
+            int firstIndex = 0;
+            int endIndex = 0;
+            if (firstLocalStep <= lastLocalStep) {
+                firstIndex = mStepStartIndexes[firstLocalStep];
+                endIndex = mStepStartIndexes[lastLocalStep + 1];
+            }
+            
+            mPlatformStore.update(firstIndex, endIndex, gameTime);
+            
+            mPlatformStore.updateActive(mVerticallyMovingStartIndex, mPlatformStore.getSize(), gameTime,
+                    activeRangeLower, activeRangeUpper, c1, c2, collisionData);
+        }
+        
+        public float getTop() {
+            return (mStartStep + mStepRange) * PlatformData.STEP_HEIGHT;
+        }
+        
+        private int getLocalStep(PlatformData platformData) {
+            return MathUtils.clamp(platformData.getStep(), 0, mStepRange - 1);
+        }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionsData;
+import com.turbogerm.hellhopper.util.SeededRandom;
+
+final class EndlessRiseSectionSource implements RiseSectionSource {
+    
+    private static final int STEP_RANGE = 100;
+    private static final int MAX_LEVEL = 10;
+    private static final int PREBUILT_RISE_SECTION_INTERVAL = 5;
+    
+    private final RiseSectionsData mPrebuiltRiseSections;
+    private final RiseSectionCache mRiseSectionCache;
+    private final long mRiseSeed;
+    private int mNumGeneratedRiseSections;
+    
+    public EndlessRiseSectionSource(RiseSectionsData prebuiltRiseSections, RiseSectionCache riseSectionCache,
+            long riseSeed) {
+        mPrebuiltRiseSections = prebuiltRiseSections;
+        mRiseSectionCache = riseSectionCache;
+        mRiseSeed = riseSeed;
+        mNumGeneratedRiseSections = 0;
+    }
+    
+    @Override
+    public RiseSectionData getNextRiseSection() {
+        int sectionIndex = mNumGeneratedRiseSections;
+        mNumGeneratedRiseSections++;
+        
+        if (sectionIndex > 0 && sectionIndex % PREBUILT_RISE_SECTION_INTERVAL == 0) {
+            return mPrebuiltRiseSections.getRiseSection("simpleflametransition");
+        }
+        
+        // difficulty rises with each generated section, and stays the same after max level is reached
+        int level = Math.min(sectionIndex, MAX_LEVEL);
+        float levelFraction = (float) level / MAX_LEVEL;
+        
+        int minStepDistance = level < MAX_LEVEL / 2 ? 1 : 2;
+        int maxStepDistance = Math.min(1 + (level + 1) / 2, PlatformData.MAX_PLATFORM_DISTANCE_STEPS);
+        float movingPlatformFraction = interpolate(0.0f, 0.3f, levelFraction);
+        float minSpeed = interpolate(2.0f, 3.0f, levelFraction);
+        float maxSpeed = interpolate(3.0f, 5.0f, levelFraction);
+        float crumblePlatformFraction = interpolate(0.0f, 0.2f, levelFraction);
+        
+        RiseSectionParameters parameters = new RiseSectionParameters(STEP_RANGE, minStepDistance, maxStepDistance,
+                movingPlatformFraction, minSpeed, maxSpeed, crumblePlatformFraction, 0.15f, level);
+        
+        // every section has its own random sequence, same as sections of fixed rises
+        return mRiseSectionCache.getRiseSection(parameters, SeededRandom.getDerivedSeed(mRiseSeed, sectionIndex));
+    }
+    
+    @Override
+    public int getTotalStepRange() {
+        return ENDLESS_STEP_RANGE;
+    }
+    
+    private static float interpolate(float start, float end, float t) {
+        return start + (end - start) * t;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+
+final class FixedRiseSectionSource implements RiseSectionSource {
+    
+    private final Array<RiseSectionData> mRiseSections;
+    private final int mTotalStepRange;
+    private int mNextRiseSectionIndex;
+    
+    public FixedRiseSectionSource(Array<RiseSectionData> riseSections) {
+        mRiseSections = riseSections;
+        
+        int totalStepRange = 0;
+        for (RiseSectionData riseSection : mRiseSections) {
+            totalStepRange += riseSection.getStepRange();
+        }
+        mTotalStepRange = totalStepRange;
+        
+        mNextRiseSectionIndex = 0;
+    }
+    
+    @Override
+    public RiseSectionData getNextRiseSection() {
+        if (mNextRiseSectionIndex >= mRiseSections.size) {
+            return null;
+        }
+        
+        RiseSectionData riseSection = mRiseSections.get(mNextRiseSectionIndex);
+        mNextRiseSectionIndex++;
+        return riseSection;
+    }
+    
+    @Override
+    public int getTotalStepRange() {
+        return mTotalStepRange;
+    }
+}
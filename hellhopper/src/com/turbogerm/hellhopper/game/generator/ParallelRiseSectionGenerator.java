@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.util.Logger;
+import com.turbogerm.hellhopper.util.SeededRandom;
+
+// generates rise sections on all cores; every section has its own random sequence, seeded from
+// the rise seed and the section index, so results do not depend on thread count or scheduling
+final class ParallelRiseSectionGenerator {
+    
+    private static final String THREAD_NAME = "RiseSectionGenerator";
+    private static final int NUM_THREADS = Runtime.getRuntime().availableProcessors();
+    
+    // below this, handing sections to other threads costs more than generating them on the calling thread
+    private static final int MIN_PARALLEL_STEP_RANGE = 2000;
+    
+    private static ExecutorService sExecutor;
+    
+    // section i is generated with seed derived from rise seed and i
+    public static RiseSectionData[] generate(RiseSectionParameters[] parametersList, long riseSeed) {
+        return generate(parametersList, riseSeed, null);
+    }
+    
+    // sections found in the cache are not generated; cache may be null
+    public static RiseSectionData[] generate(RiseSectionParameters[] parametersList, long riseSeed,
+            RiseSectionCache cache) {
+        int numRiseSections = parametersList.length;
+        RiseSectionData[] riseSections = new RiseSectionData[numRiseSections];
+        
+        int totalStepRange = 0;
+        for (RiseSectionParameters parameters : parametersList) {
+            totalStepRange += parameters.getStepRange();
+        }
+        
+        int numTasks = totalStepRange >= MIN_PARALLEL_STEP_RANGE ? Math.min(NUM_THREADS, numRiseSections) : 1;
+        if (numTasks <= 1) {
+            generate(parametersList, riseSeed, cache, riseSections, 0, numRiseSections);
+            return riseSections;
+        }
+        
+        // each task generates a contiguous range of sections, calling thread takes the first range
+        ExecutorService executor = getExecutor();
+        Future<?>[] futures = new Future<?>[numTasks - 1];
+        for (int i = 1; i < numTasks; i++) {
+            futures[i - 1] = executor.submit(createTask(parametersList, riseSeed, cache, riseSections,
+                    numRiseSections * i / numTasks, numRiseSections * (i + 1) / numTasks));
+        }
+        generate(parametersList, riseSeed, cache, riseSections, 0, numRiseSections / numTasks);
+        
+        waitForAll(futures);
+        
+        // sections of failed tasks are generated here; same seeds give the same sections
+        for (int i = 0; i < numRiseSections; i++) {
+            if (riseSections[i] == null) {
+                generate(parametersList, riseSeed, cache, riseSections, i, i + 1);
+            }
+        }
+        
+        return riseSections;
+    }
+    
+    private static Runnable createTask(final RiseSectionParameters[] parametersList, final long riseSeed,
+            final RiseSectionCache cache, final RiseSectionData[] riseSections, final int start, final int end) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                generate(parametersList, riseSeed, cache, riseSections, start, end);
+            }
+        };
+    }
+    
+    private static void generate(RiseSectionParameters[] parametersList, long riseSeed, RiseSectionCache cache,
+            RiseSectionData[] riseSections, int start, int end) {
+        for (int i = start; i < end; i++) {
+            long seed = SeededRandom.getDerivedSeed(riseSeed, i);
+            riseSections[i] = cache != null ? cache.getRiseSection(parametersList[i], seed) :
+                    RiseSectionGenerator.generateRiseSection(parametersList[i], new SeededRandom(seed));
+        }
+    }
+    
+    // tasks write into the shared result array, so all of them must finish before it is used
+    private static void waitForAll(Future<?>[] futures) {
+        boolean isInterrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                } catch (ExecutionException e) {
+                    Logger.error("Rise section generation failed: %s", e.getCause());
+                    break;
+                }
+            }
+        }
+        
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static synchronized ExecutorService getExecutor() {
+        if (sExecutor == null) {
+            sExecutor = Executors.newFixedThreadPool(NUM_THREADS - 1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, THREAD_NAME);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        
+        return sExecutor;
+    }
+}
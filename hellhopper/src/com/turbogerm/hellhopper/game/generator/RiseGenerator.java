@@ -24,62 +24,67 @@
 package com.turbogerm.hellhopper.game.generator;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 import com.turbogerm.hellhopper.ResourceNames;
-import com.turbogerm.hellhopper.dataaccess.PlatformData;
 import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
 import com.turbogerm.hellhopper.dataaccess.RiseSectionsData;
 import com.turbogerm.hellhopper.dataaccess.RiseSectionsDataReader;
-import com.turbogerm.hellhopper.game.Rise;
-import com.turbogerm.hellhopper.game.platforms.PlatformBase;
-import com.turbogerm.hellhopper.game.platforms.PlatformFactory;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionsPack;
 
 public final class RiseGenerator {
     
     private static final int RISE_SECTIONS_INITIAL_CAPACITY = 20;
     
+    // a fixed rise and several screens of an endless rise
+    private static final int RISE_SECTION_CACHE_SIZE = 64;
+    
     private static final RiseSectionsData PREBUILT_RISE_SECTIONS;
+    private static final RiseSectionCache RISE_SECTION_CACHE = new RiseSectionCache(RISE_SECTION_CACHE_SIZE);
+    
+    private static final RiseSectionParameters[] FIXED_RISE_GENERATED_SECTIONS = {
+            new RiseSectionParameters(100, 1, 1, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 1, 2, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 1, 3, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 1, 3, 0.1f, 2.0f, 3.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 1, 4, 0.1f, 2.0f, 3.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 2, 5, 0.2f, 3.0f, 5.0f, 0.0f, 0.15f, 0),
+            new RiseSectionParameters(100, 2, 5, 0.2f, 3.0f, 5.0f, 0.15f, 0.15f, 0) };
     
     static {
-        PREBUILT_RISE_SECTIONS = RiseSectionsDataReader.read(Gdx.files.internal(ResourceNames.RISE_SECTIONS_DATA));
+        // xml is only parsed when there is no usable pack, remove the pack to try out xml edits
+        // without recompiling it
+        FileHandle packFileHandle = Gdx.files.internal(ResourceNames.RISE_SECTIONS_PACK);
+        RiseSectionsData riseSections = packFileHandle.exists() ? RiseSectionsPack.read(packFileHandle) : null;
+        if (riseSections == null) {
+            riseSections = RiseSectionsDataReader.read(Gdx.files.internal(ResourceNames.RISE_SECTIONS_DATA));
+        }
+        PREBUILT_RISE_SECTIONS = riseSections;
     }
     
-    public static Rise generate(AssetManager assetManager) {
+    // same seed always yields the same rise
+    public static RiseSectionSource generate(long seed) {
+        RiseSectionData[] generatedRiseSections = ParallelRiseSectionGenerator.generate(
+                FIXED_RISE_GENERATED_SECTIONS, seed, RISE_SECTION_CACHE);
+        
         Array<RiseSectionData> riseSections = new Array<RiseSectionData>(true, RISE_SECTIONS_INITIAL_CAPACITY);
         
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 1, 1, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0));
+        // prebuilt flame transition follows the first generated section
+        riseSections.add(generatedRiseSections[0]);
         riseSections.add(PREBUILT_RISE_SECTIONS.getRiseSection("simpleflametransition"));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 1, 2, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 1, 3, 0.0f, 0.0f, 0.0f, 0.0f, 0.15f, 0));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 1, 3, 0.1f, 2.0f, 3.0f, 0.0f, 0.15f, 0));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 1, 4, 0.1f, 2.0f, 3.0f, 0.0f, 0.15f, 0));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 2, 5, 0.2f, 3.0f, 5.0f, 0.0f, 0.15f, 0));
-        riseSections.add(RiseSectionGenerator.generateRiseSection(100, 2, 5, 0.2f, 3.0f, 5.0f, 0.15f, 0.15f, 0));
-        
-        int totalNumPlatforms = 0;
-        for (RiseSectionData riseSection : riseSections) {
-            totalNumPlatforms += riseSection.getPlatformDataList().size;
+        for (int i = 1; i < generatedRiseSections.length; i++) {
+            riseSections.add(generatedRiseSections[i]);
         }
         
-        Array<PlatformBase> platforms = new Array<PlatformBase>(true, totalNumPlatforms);
-        int startStep = 0;
-        for (RiseSectionData riseSection : riseSections) {
-            addPlatforms(platforms, riseSection, startStep, assetManager);
-            startStep += riseSection.getStepRange();
-        }
-        
-        float riseHeight = startStep * PlatformData.STEP_HEIGHT;
-        
-        return new Rise(riseHeight, platforms);
+        return new FixedRiseSectionSource(riseSections);
     }
     
-    private static void addPlatforms(Array<PlatformBase> platforms, RiseSectionData riseSection, int startStep,
-            AssetManager assetManager) {
-        Array<PlatformData> platformDataList = riseSection.getPlatformDataList();
-        for (PlatformData platformData : platformDataList) {
-            PlatformBase platform = PlatformFactory.create(platformData, startStep, assetManager);
-            platforms.add(platform);
-        }
+    public static RiseSectionSource generateEndless(long seed) {
+        return new EndlessRiseSectionSource(PREBUILT_RISE_SECTIONS, RISE_SECTION_CACHE, seed);
+    }
+    
+    // generated sections are reused by later rises with the same seed
+    public static RiseSectionCache getRiseSectionCache() {
+        return RISE_SECTION_CACHE;
     }
 }
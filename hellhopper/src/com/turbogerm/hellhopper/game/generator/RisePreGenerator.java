@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.turbogerm.hellhopper.util.Logger;
+
+// generates rise section data for the next rise on a worker thread, so only platform
+// materialization is left for the render thread
+public final class RisePreGenerator {
+    
+    private static final String THREAD_NAME = "RisePreGenerator";
+    
+    private final ExecutorService mExecutor;
+    private Future<RiseSectionSource> mPendingRise;
+    private long mPendingRiseSeed;
+    
+    public RisePreGenerator() {
+        mExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+        
+        mPendingRise = null;
+    }
+    
+    // starts generating the rise for the seed, unless it is already generated or being generated;
+    // rise previously requested for a different seed is discarded
+    public void requestRise(final long seed) {
+        if (mPendingRise != null) {
+            if (mPendingRiseSeed == seed) {
+                return;
+            }
+            
+            mPendingRise.cancel(false);
+        }
+        
+        mPendingRiseSeed = seed;
+        mPendingRise = mExecutor.submit(new Callable<RiseSectionSource>() {
+            @Override
+            public RiseSectionSource call() {
+                return RiseGenerator.generate(seed);
+            }
+        });
+    }
+    
+    // returns pre-generated rise for the seed; if it is still being generated waits for it to finish,
+    // and if it was not requested or generation failed generates rise on the calling thread
+    public RiseSectionSource obtainRise(long seed) {
+        Future<RiseSectionSource> pendingRise = mPendingRise;
+        long pendingRiseSeed = mPendingRiseSeed;
+        mPendingRise = null;
+        
+        if (pendingRise != null && pendingRiseSeed == seed) {
+            try {
+                return pendingRise.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Logger.error("Rise pre-generation interrupted");
+            } catch (ExecutionException e) {
+                Logger.error("Rise pre-generation failed: %s", e.getCause());
+            }
+        } else if (pendingRise != null) {
+            pendingRise.cancel(false);
+        }
+        
+        return RiseGenerator.generate(seed);
+    }
+    
+    public void dispose() {
+        mExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionsPack;
+import com.turbogerm.hellhopper.util.Logger;
+import com.turbogerm.hellhopper.util.SeededRandom;
+
+// least recently used generated sections, keyed by parameters and section seed; same key always
+// generates the same section, so cached sections can be shared between rises and persisted between runs
+// file: magic, version, generator version, entry count, entries (least recently used first)
+// entry: parameters, seed, section in rise sections pack format
+public final class RiseSectionCache {
+    
+    public static final int FILE_MAGIC = 0x48485243; // "HHRC"
+    public static final int FILE_VERSION = 1;
+    
+    // parameters, seed and an empty section
+    private static final int MIN_ENTRY_SIZE = 9 * 4 + 8 + 12;
+    
+    private final int mMaxSize;
+    private final LinkedHashMap<Key, RiseSectionData> mRiseSections;
+    private int mNumHits;
+    private int mNumMisses;
+    // set when a section is added, saving is skipped when nothing was added since the last save;
+    // use order alone does not make the cache dirty
+    private boolean mIsDirty;
+    
+    public RiseSectionCache(final int maxSize) {
+        mMaxSize = maxSize;
+        mRiseSections = new LinkedHashMap<Key, RiseSectionData>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RiseSectionData> eldest) {
+                return size() > maxSize;
+            }
+        };
+        mNumHits = 0;
+        mNumMisses = 0;
+        mIsDirty = false;
+    }
+    
+    // generation runs outside of the lock; two threads may generate the same section, with the same result
+    public RiseSectionData getRiseSection(RiseSectionParameters parameters, long seed) {
+        Key key = new Key(parameters, seed);
+        synchronized (this) {
+            RiseSectionData riseSection = mRiseSections.get(key);
+            if (riseSection != null) {
+                mNumHits++;
+                return riseSection;
+            }
+            mNumMisses++;
+        }
+        
+        RiseSectionData riseSection = RiseSectionGenerator.generateRiseSection(parameters, new SeededRandom(seed));
+        synchronized (this) {
+            mRiseSections.put(key, riseSection);
+            mIsDirty = true;
+        }
+        
+        return riseSection;
+    }
+    
+    public synchronized int getSize() {
+        return mRiseSections.size();
+    }
+    
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+    
+    public synchronized int getNumHits() {
+        return mNumHits;
+    }
+    
+    public synchronized int getNumMisses() {
+        return mNumMisses;
+    }
+    
+    public synchronized void clear() {
+        mRiseSections.clear();
+        mNumHits = 0;
+        mNumMisses = 0;
+        mIsDirty = true;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        int numRequests = mNumHits + mNumMisses;
+        return String.format("%d/%d sections, %d hits, %d misses (%.1f%% hit rate)", mRiseSections.size(),
+                mMaxSize, mNumHits, mNumMisses, numRequests > 0 ? mNumHits * 100.0f / numRequests : 0.0f);
+    }
+    
+    // missing, outdated or invalid file leaves the cache unchanged
+    public void load(FileHandle fileHandle) {
+        if (!fileHandle.exists()) {
+            return;
+        }
+        
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(fileHandle.readBytes());
+            if (buffer.getInt() != FILE_MAGIC || buffer.getInt() != FILE_VERSION) {
+                Logger.error("Invalid rise section cache: %s", fileHandle.path());
+                return;
+            }
+            if (buffer.getInt() != RiseSectionGenerator.GENERATOR_VERSION) {
+                return;
+            }
+            
+            // whole file is read before anything is cached, damaged files are dropped entirely
+            int numEntries = RiseSectionsPack.getCount(buffer, buffer.getInt(), MIN_ENTRY_SIZE);
+            Key[] keys = new Key[numEntries];
+            RiseSectionData[] riseSections = new RiseSectionData[numEntries];
+            for (int i = 0; i < numEntries; i++) {
+                keys[i] = new Key(readParameters(buffer), buffer.getLong());
+                riseSections[i] = RiseSectionsPack.readRiseSection(buffer);
+            }
+            
+            synchronized (this) {
+                for (int i = 0; i < numEntries; i++) {
+                    mRiseSections.put(keys[i], riseSections[i]);
+                }
+            }
+        } catch (GdxRuntimeException e) {
+            Logger.error(e.getMessage());
+        } catch (BufferUnderflowException e) {
+            Logger.error("Truncated rise section cache: %s", fileHandle.path());
+        } catch (IllegalArgumentException e) {
+            Logger.error("Invalid rise section cache: %s", fileHandle.path());
+        } catch (ArrayIndexOutOfBoundsException e) {
+            Logger.error("Invalid rise section cache: %s", fileHandle.path());
+        }
+    }
+    
+    public synchronized void save(FileHandle fileHandle) {
+        if (!mIsDirty) {
+            return;
+        }
+        
+        DataOutputStream output = null;
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(fileHandle.write(false)));
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeInt(RiseSectionGenerator.GENERATOR_VERSION);
+            output.writeInt(mRiseSections.size());
+            
+            // iteration is from least to most recently used, loading restores the order
+            Iterator<Map.Entry<Key, RiseSectionData>> iterator = mRiseSections.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, RiseSectionData> entry = iterator.next();
+                Key key = entry.getKey();
+                writeParameters(output, key.mParameters);
+                output.writeLong(key.mSeed);
+                RiseSectionsPack.writeRiseSection(output, "cached rise section", entry.getValue());
+            }
+            
+            output.flush();
+            mIsDirty = false;
+        } catch (IOException e) {
+            Logger.error(e.getMessage());
+        } catch (GdxRuntimeException e) {
+            Logger.error(e.getMessage());
+        } finally {
+            if (output != null) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    Logger.error(e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private static RiseSectionParameters readParameters(ByteBuffer buffer) {
+        int stepRange = buffer.getInt();
+        int minStepDistance = buffer.getInt();
+        int maxStepDistance = buffer.getInt();
+        float movingPlatformFraction = buffer.getFloat();
+        float minSpeed = buffer.getFloat();
+        float maxSpeed = buffer.getFloat();
+        float crumblePlatformFraction = buffer.getFloat();
+        float jumpBoostChance = buffer.getFloat();
+        int difficulty = buffer.getInt();
+        return new RiseSectionParameters(stepRange, minStepDistance, maxStepDistance, movingPlatformFraction,
+                minSpeed, maxSpeed, crumblePlatformFraction, jumpBoostChance, difficulty);
+    }
+    
+    private static void writeParameters(DataOutputStream output, RiseSectionParameters parameters)
+            throws IOException {
+        output.writeInt(parameters.getStepRange());
+        output.writeInt(parameters.getMinStepDistance());
+        output.writeInt(parameters.getMaxStepDistance());
+        output.writeFloat(parameters.getMovingPlatformFraction());
+        output.writeFloat(parameters.getMinSpeed());
+        output.writeFloat(parameters.getMaxSpeed());
+        output.writeFloat(parameters.getCrumblePlatformFraction());
+        output.writeFloat(parameters.getJumpBoostChance());
+        output.writeInt(parameters.getDifficulty());
+    }
+    
+    private static final class Key {
+        
+        private final RiseSectionParameters mParameters;
+        private final long mSeed;
+        
+        public Key(RiseSectionParameters parameters, long seed) {
+            mParameters = parameters;
+            mSeed = seed;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            
+            Key other = (Key) obj;
+            return mSeed == other.mSeed && mParameters.equals(other.mParameters);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * mParameters.hashCode() + (int) (mSeed ^ (mSeed >>> 32));
+        }
+    }
+}
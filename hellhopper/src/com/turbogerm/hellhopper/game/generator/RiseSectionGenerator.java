@@ -23,34 +23,48 @@
  */
 package com.turbogerm.hellhopper.game.generator;
 
-import com.badlogic.gdx.math.MathUtils;
+import java.util.BitSet;
+
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.IntArray;
 import com.turbogerm.hellhopper.dataaccess.PlatformData;
 import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
 import com.turbogerm.hellhopper.dataaccess.PlatformMovementData;
 import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
 import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
 import com.turbogerm.hellhopper.util.GameUtils;
+import com.turbogerm.hellhopper.util.Logger;
+import com.turbogerm.hellhopper.util.SeededRandom;
+import com.turbogerm.hellhopper.util.WeightedIndexSampler;
 
 final class RiseSectionGenerator {
     
+    // must change whenever same parameters and seed start generating a different section,
+    // sections persisted by RiseSectionCache are discarded on mismatch
+    public static final int GENERATOR_VERSION = 2;
+    
+    // unclimbable sections are generated again with the following random numbers,
+    // after that with relaxed parameters
+    private static final int MAX_GENERATION_ATTEMPTS = 10;
+    
     private static final float FULL_HORIZONTAL_RANGE = GameArea.GAME_AREA_WIDTH - PlatformData.PLATFORM_WIDTH;
     
     public static RiseSectionData generateBasicRiseSection(int stepRange, int numPads, int difficulty,
-            float jumpBoostChance) {
+            float jumpBoostChance, SeededRandom random) {
         Array<PlatformData> platformDataList = new Array<PlatformData>(numPads);
         Array<StepPossiblePlaformPositions> positions = getInitialAllStepPositionsPositions(stepRange);
+        WeightedIndexSampler stepSampler = getStepSampler(positions);
         for (int i = 0; i < numPads; i++) {
-            PlatformPosition position = getRandomPosition(positions);
-            Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance);
+            PlatformPosition position = getRandomPosition(positions, stepSampler, random);
+            Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance, random);
             PlatformData padData = new PlatformData(PlatformData.NORMAL, position.getStep(), position.getOffset(),
-                    null, featuresData, null);
+                    null, featuresData);
             platformDataList.add(padData);
-            updatePossiblePlatformPositions(positions, position);
+            updatePossiblePlatformPositions(positions, stepSampler, position);
         }
         
-        correctPlatformList(stepRange, platformDataList, jumpBoostChance);
+        correctPlatformList(stepRange, platformDataList, jumpBoostChance, random);
         RiseGeneratorUtils.sort(platformDataList);
         
         return new RiseSectionData(stepRange, difficulty, platformDataList);
@@ -59,61 +73,36 @@ final class RiseSectionGenerator {
     private static Array<StepPossiblePlaformPositions> getInitialAllStepPositionsPositions(int stepRange) {
         Array<StepPossiblePlaformPositions> positions = new Array<StepPossiblePlaformPositions>(true, stepRange);
         for (int i = 0; i < stepRange; i++) {
-            StepPossiblePlaformPositions stepPositions = getInitialStepPositions(i);
-            positions.add(stepPositions);
+            positions.add(new StepPossiblePlaformPositions(i));
         }
         
         return positions;
     }
     
-    private static StepPossiblePlaformPositions getInitialStepPositions(int step) {
-        Array<Integer> positions = new Array<Integer>(true, PlatformData.MAX_PLATFORM_OFFSET + 1);
-        for (int i = 0; i <= PlatformData.MAX_PLATFORM_OFFSET; i++) {
-            positions.add(i);
+    // each step is weighted by its number of free positions, so all free positions are equally likely
+    private static WeightedIndexSampler getStepSampler(Array<StepPossiblePlaformPositions> allStepPositions) {
+        int[] weights = new int[allStepPositions.size];
+        for (int i = 0; i < allStepPositions.size; i++) {
+            weights[i] = allStepPositions.get(i).getNumPositions();
         }
         
-        return new StepPossiblePlaformPositions(step, positions);
+        return new WeightedIndexSampler(weights);
     }
     
-    private static PlatformPosition getRandomPosition(Array<StepPossiblePlaformPositions> allStepPositions) {
-        int totalNumPositions = getTotalNumPositions(allStepPositions);
-        int randomPositionIndex = MathUtils.random(totalNumPositions - 1);
-        
-        for (StepPossiblePlaformPositions stepPositions : allStepPositions) {
-            int currentStepSize = stepPositions.getNumPositions();
-            if (randomPositionIndex < currentStepSize) {
-                return new PlatformPosition(
-                        stepPositions.getStep(),
-                        stepPositions.getOffset(randomPositionIndex));
-            }
-            
-            randomPositionIndex -= currentStepSize;
-        }
-        
-        return null;
-    }
-    
-    private static int getTotalNumPositions(Array<StepPossiblePlaformPositions> allStepPositions) {
-        int totalNumPositions = 0;
-        for (StepPossiblePlaformPositions stepPositions : allStepPositions) {
-            totalNumPositions += stepPositions.getNumPositions();
-        }
-        
-        return totalNumPositions;
+    private static PlatformPosition getRandomPosition(Array<StepPossiblePlaformPositions> allStepPositions,
+            WeightedIndexSampler stepSampler, SeededRandom random) {
+        int randomPositionIndex = random.nextInt(stepSampler.getTotalWeight());
+        int step = stepSampler.find(randomPositionIndex);
+        int stepPositionIndex = randomPositionIndex - stepSampler.getPrefixWeight(step);
+        return new PlatformPosition(step, allStepPositions.get(step).getOffset(stepPositionIndex));
     }
     
-    private static Array<PlatformFeatureData> getFeaturesData(float jumpBoostChance) {
+    private static Array<PlatformFeatureData> getFeaturesData(float jumpBoostChance, SeededRandom random) {
         Array<PlatformFeatureData> featuresData;
-        if (MathUtils.random() <= jumpBoostChance) {
+        if (random.nextFloat() <= jumpBoostChance) {
             featuresData = new Array<PlatformFeatureData>(true, 1);
-            
-            ObjectMap<String, String> properties = new ObjectMap<String, String>(2);
-            properties.put(PlatformFeatureData.JUMP_BOOST_POSITION_PROPERTY,
-                    String.valueOf(MathUtils.random()));
-            properties.put(PlatformFeatureData.JUMP_BOOST_POWER_PROPERTY,
-                    PlatformFeatureData.JUMP_BOOST_POWER_HIGH_PROPERTY_VALUE);
-            
-            PlatformFeatureData featureData = new PlatformFeatureData(PlatformFeatureData.JUMP_BOOST, properties);
+            PlatformFeatureData featureData = PlatformFeatureData.createJumpBoost(
+                    random.nextFloat(), PlatformFeatureData.JUMP_BOOST_POWER_HIGH);
             featuresData.add(featureData);
         } else {
             featuresData = null;
@@ -122,69 +111,113 @@ final class RiseSectionGenerator {
         return featuresData;
     }
     
+    // positions are indexed by step
     private static void updatePossiblePlatformPositions(Array<StepPossiblePlaformPositions> allStepPositions,
-            PlatformPosition takenPosition) {
-        for (StepPossiblePlaformPositions stepPositions : allStepPositions) {
-            if (stepPositions.getStep() == takenPosition.getStep()) {
-                int firstInvalidatedOffset = takenPosition.getOffset() - PlatformData.PLATFORM_WIDTH_OFFSETS + 1;
-                int numInvalidatedOffsets = PlatformData.PLATFORM_WIDTH_OFFSETS * 2 - 1;
-                for (int i = 0; i < numInvalidatedOffsets; i++) {
-                    stepPositions.removeOffsetValue(firstInvalidatedOffset + i);
-                }
-            }
-        }
+            WeightedIndexSampler stepSampler, PlatformPosition takenPosition) {
+        // platforms starting at these offsets would overlap the taken one
+        int firstInvalidatedOffset = takenPosition.getOffset() - PlatformData.PLATFORM_WIDTH_OFFSETS + 1;
+        int lastInvalidatedOffset = takenPosition.getOffset() + PlatformData.PLATFORM_WIDTH_OFFSETS - 1;
+        StepPossiblePlaformPositions stepPositions = allStepPositions.get(takenPosition.getStep());
+        stepPositions.removeOffsets(firstInvalidatedOffset, lastInvalidatedOffset);
+        stepSampler.setWeight(takenPosition.getStep(), stepPositions.getNumPositions());
     }
     
+    // step 0 must be filled and gaps between filled steps must be at most MAX_PLATFORM_DISTANCE_STEPS;
+    // gaps are filled bottom up in a single pass, every added platform is the max distance above the previous one
     private static void correctPlatformList(int stepRange, Array<PlatformData> platformDataList,
-            float jumpBoostChance) {
-        int step = getFirstEmptyRequiredStep(stepRange, platformDataList);
-        while (step != -1) {
-            int offset = MathUtils.random(PlatformData.MAX_PLATFORM_OFFSET - 1);
-            Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance);
-            PlatformData platformData = new PlatformData(PlatformData.NORMAL, step, offset, null,
-                    featuresData, null);
-            platformDataList.add(platformData);
-            
-            step = getFirstEmptyRequiredStep(stepRange, platformDataList);
+            float jumpBoostChance, SeededRandom random) {
+        BitSet filledSteps = new BitSet(stepRange);
+        for (int i = 0; i < platformDataList.size; i++) {
+            filledSteps.set(platformDataList.get(i).getStep());
         }
-    }
-    
-    private static int getFirstEmptyRequiredStep(int stepRange, Array<PlatformData> platformDataList) {
-        Array<Integer> stepsWithPlatforms = getStepsWithPlatforms(platformDataList);
         
-        // step 0 must always be filled
-        if (stepsWithPlatforms.size == 0 || stepsWithPlatforms.get(0) != 0) {
-            return 0;
+        if (!filledSteps.get(0)) {
+            addCorrectionPlatform(0, platformDataList, jumpBoostChance, random);
         }
         
-        for (int i = 1; i < stepsWithPlatforms.size; i++) {
-            if (stepsWithPlatforms.get(i) - stepsWithPlatforms.get(i - 1) > PlatformData.MAX_PLATFORM_DISTANCE_STEPS) {
-                return stepsWithPlatforms.get(i - 1) + PlatformData.MAX_PLATFORM_DISTANCE_STEPS;
+        int previousStep = 0;
+        int step = filledSteps.nextSetBit(1);
+        while (true) {
+            int nextFilledStep = step >= 0 ? step : stepRange;
+            while (nextFilledStep - previousStep > PlatformData.MAX_PLATFORM_DISTANCE_STEPS) {
+                previousStep += PlatformData.MAX_PLATFORM_DISTANCE_STEPS;
+                addCorrectionPlatform(previousStep, platformDataList, jumpBoostChance, random);
+            }
+            
+            if (step < 0) {
+                break;
             }
+            
+            previousStep = step;
+            step = filledSteps.nextSetBit(step + 1);
         }
+    }
+    
+    private static void addCorrectionPlatform(int step, Array<PlatformData> platformDataList,
+            float jumpBoostChance, SeededRandom random) {
+        int offset = random.nextInt(PlatformData.MAX_PLATFORM_OFFSET);
+        Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance, random);
+        PlatformData platformData = new PlatformData(PlatformData.NORMAL, step, offset, null, featuresData);
+        platformDataList.add(platformData);
+    }
+    
+    public static RiseSectionData generateRiseSection(RiseSectionParameters parameters, SeededRandom random) {
+        return generateRiseSection(parameters.getStepRange(), parameters.getMinStepDistance(),
+                parameters.getMaxStepDistance(), parameters.getMovingPlatformFraction(), parameters.getMinSpeed(),
+                parameters.getMaxSpeed(), parameters.getCrumblePlatformFraction(), parameters.getJumpBoostChance(),
+                parameters.getDifficulty(), random);
+    }
+    
+    public static RiseSectionData generateRiseSection(
+            int stepRange,
+            int minStepDistance,
+            int maxStepDistance,
+            float movingPlatformFraction,
+            float minSpeed,
+            float maxSpeed,
+            float crumblePlatformFraction,
+            float jumpBoostChance,
+            int difficulty,
+            SeededRandom random) {
         
-        if (stepRange - stepsWithPlatforms.peek() > PlatformData.MAX_PLATFORM_DISTANCE_STEPS) {
-            return stepsWithPlatforms.peek() + PlatformData.MAX_PLATFORM_DISTANCE_STEPS;
+        for (int i = 0; i < MAX_GENERATION_ATTEMPTS; i++) {
+            RiseSectionData riseSection = createRiseSection(stepRange, minStepDistance, maxStepDistance,
+                    movingPlatformFraction, minSpeed, maxSpeed, crumblePlatformFraction, jumpBoostChance,
+                    difficulty, random);
+            if (RiseSectionValidator.isClimbable(riseSection)) {
+                return riseSection;
+            }
         }
         
-        return -1;
-    }
-    
-    private static Array<Integer> getStepsWithPlatforms(Array<PlatformData> platformDataList) {
-        Array<Integer> steps = new Array<Integer>(true, platformDataList.size);
-        for (PlatformData padData : platformDataList) {
-            int step = padData.getStep();
-            if (!steps.contains(step, false)) {
-                steps.add(step);
+        // step distance is relaxed one step at a time
+        for (int relaxedMaxStepDistance = maxStepDistance - 1; relaxedMaxStepDistance >= 1;
+                relaxedMaxStepDistance--) {
+            int relaxedMinStepDistance = Math.min(minStepDistance, relaxedMaxStepDistance);
+            RiseSectionData riseSection = createRiseSection(stepRange, relaxedMinStepDistance,
+                    relaxedMaxStepDistance, movingPlatformFraction, minSpeed, maxSpeed, crumblePlatformFraction,
+                    jumpBoostChance, difficulty, random);
+            if (RiseSectionValidator.isClimbable(riseSection)) {
+                Logger.info("Rise section step distance %d-%d relaxed to %d-%d", minStepDistance,
+                        maxStepDistance, relaxedMinStepDistance, relaxedMaxStepDistance);
+                return riseSection;
             }
         }
         
-        steps.sort();
+        // static platforms on every step can always be climbed
+        RiseSectionData riseSection = createRiseSection(stepRange, 1, 1, 0.0f, minSpeed, maxSpeed, 0.0f,
+                jumpBoostChance, difficulty, random);
+        if (RiseSectionValidator.isClimbable(riseSection)) {
+            Logger.info("Rise section step distance %d-%d relaxed to static platforms on every step",
+                    minStepDistance, maxStepDistance);
+            return riseSection;
+        }
         
-        return steps;
+        ExceptionThrower.throwException("No climbable rise section, step distance %d-%d",
+                minStepDistance, maxStepDistance);
+        return null;
     }
     
-    public static RiseSectionData generateRiseSection(
+    private static RiseSectionData createRiseSection(
             int stepRange,
             int minStepDistance,
             int maxStepDistance,
@@ -193,72 +226,69 @@ final class RiseSectionGenerator {
             float maxSpeed,
             float crumblePlatformFraction,
             float jumpBoostChance,
-            int difficulty) {
+            int difficulty,
+            SeededRandom random) {
         
         Array<PlatformData> platformDataList = new Array<PlatformData>(stepRange);
-        Array<Integer> filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance);
+        IntArray filledSteps = getFilledSteps(stepRange, minStepDistance, maxStepDistance, random);
         
         int movingPlatformCount = (int) (filledSteps.size * movingPlatformFraction);
-        Array<Integer> movingPlatformIndexes = GameUtils.getRandomIndexes(filledSteps.size, movingPlatformCount);
+        BitSet movingPlatformIndexes = getIndexBits(GameUtils.getRandomIndexes(
+                filledSteps.size, movingPlatformCount, random));
         
         int crumblePlatformCount = (int) (filledSteps.size * crumblePlatformFraction);
-        Array<Integer> crumblePlatformIndexes = GameUtils.getRandomIndexes(filledSteps.size, crumblePlatformCount);
+        BitSet crumblePlatformIndexes = getIndexBits(GameUtils.getRandomIndexes(
+                filledSteps.size, crumblePlatformCount, random));
         
         for (int i = 0; i < filledSteps.size; i++) {
             int step = filledSteps.get(i);
             
-            PlatformMovementData movementData = getMovementData(
-                    i, filledSteps, movingPlatformIndexes, minSpeed, maxSpeed);
-            Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance);
+            PlatformMovementData movementData = movingPlatformIndexes.get(i) ?
+                    getMovementData(minSpeed, maxSpeed, random) : null;
+            Array<PlatformFeatureData> featuresData = getFeaturesData(jumpBoostChance, random);
             
             int offset;
             if (movementData == null) {
-                offset = MathUtils.random(PlatformData.MAX_PLATFORM_OFFSET);
+                offset = random.nextIntInclusive(PlatformData.MAX_PLATFORM_OFFSET);
             } else {
                 offset = 0;
             }
             
-            String platformType = crumblePlatformIndexes.contains(i, false) ?
+            String platformType = crumblePlatformIndexes.get(i) ?
                     PlatformData.CRUMBLE : PlatformData.NORMAL;
             
-            PlatformData padData = new PlatformData(platformType, step, offset,
-                    movementData, featuresData, null);
+            PlatformData padData = new PlatformData(platformType, step, offset, movementData, featuresData);
             platformDataList.add(padData);
         }
         
         return new RiseSectionData(stepRange, difficulty, platformDataList);
     }
     
-    private static Array<Integer> getFilledSteps(int stepRange, int minStepDistance, int maxStepDistance) {
-        Array<Integer> filledSteps = new Array<Integer>(true, stepRange);
+    private static IntArray getFilledSteps(int stepRange, int minStepDistance, int maxStepDistance,
+            SeededRandom random) {
+        IntArray filledSteps = new IntArray(true, stepRange);
         int currentStep = 0;
         while (currentStep < stepRange) {
             filledSteps.add(currentStep);
-            currentStep += MathUtils.random(minStepDistance, maxStepDistance);;
+            currentStep += random.nextIntInclusive(minStepDistance, maxStepDistance);
         }
         
         return filledSteps;
     }
     
-    private static PlatformMovementData getMovementData(int index,
-            Array<Integer> filledSteps, Array<Integer> movingPlatformIndexes,
-            float minSpeed, float maxSpeed) {
-        
-        PlatformMovementData movementData;
-        if (movingPlatformIndexes.contains(index, false)) {
-            ObjectMap<String, String> properties = new ObjectMap<String, String>(2);
-            properties.put(PlatformMovementData.RANGE_PROPERTY,
-                    String.valueOf(FULL_HORIZONTAL_RANGE));
-            properties.put(PlatformMovementData.SPEED_PROPERTY,
-                    String.valueOf(MathUtils.random(minSpeed, maxSpeed)));
-            properties.put(PlatformMovementData.INITIAL_OFFSET_PROPERTY,
-                    String.valueOf(MathUtils.random(0.0f, FULL_HORIZONTAL_RANGE * 2.0f)));
-            
-            movementData = new PlatformMovementData(PlatformMovementData.HORIZONTAL_MOVEMENT, properties);
-        } else {
-            movementData = null;
+    private static BitSet getIndexBits(IntArray indexes) {
+        BitSet indexBits = new BitSet();
+        for (int i = 0; i < indexes.size; i++) {
+            indexBits.set(indexes.get(i));
         }
         
-        return movementData;
+        return indexBits;
+    }
+    
+    private static PlatformMovementData getMovementData(float minSpeed, float maxSpeed, SeededRandom random) {
+        float speed = random.nextFloat(minSpeed, maxSpeed);
+        float initialOffset = random.nextFloat(0.0f, FULL_HORIZONTAL_RANGE * 2.0f);
+        return PlatformMovementData.createLinear(PlatformMovementData.HORIZONTAL,
+                FULL_HORIZONTAL_RANGE, speed, initialOffset);
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+// everything that, together with a seed, determines a generated rise section
+public final class RiseSectionParameters {
+    
+    private final int mStepRange;
+    private final int mMinStepDistance;
+    private final int mMaxStepDistance;
+    private final float mMovingPlatformFraction;
+    private final float mMinSpeed;
+    private final float mMaxSpeed;
+    private final float mCrumblePlatformFraction;
+    private final float mJumpBoostChance;
+    private final int mDifficulty;
+    
+    public RiseSectionParameters(
+            int stepRange,
+            int minStepDistance,
+            int maxStepDistance,
+            float movingPlatformFraction,
+            float minSpeed,
+            float maxSpeed,
+            float crumblePlatformFraction,
+            float jumpBoostChance,
+            int difficulty) {
+        mStepRange = stepRange;
+        mMinStepDistance = minStepDistance;
+        mMaxStepDistance = maxStepDistance;
+        mMovingPlatformFraction = movingPlatformFraction;
+        mMinSpeed = minSpeed;
+        mMaxSpeed = maxSpeed;
+        mCrumblePlatformFraction = crumblePlatformFraction;
+        mJumpBoostChance = jumpBoostChance;
+        mDifficulty = difficulty;
+    }
+    
+    public int getStepRange() {
+        return mStepRange;
+    }
+    
+    public int getMinStepDistance() {
+        return mMinStepDistance;
+    }
+    
+    public int getMaxStepDistance() {
+        return mMaxStepDistance;
+    }
+    
+    public float getMovingPlatformFraction() {
+        return mMovingPlatformFraction;
+    }
+    
+    public float getMinSpeed() {
+        return mMinSpeed;
+    }
+    
+    public float getMaxSpeed() {
+        return mMaxSpeed;
+    }
+    
+    public float getCrumblePlatformFraction() {
+        return mCrumblePlatformFraction;
+    }
+    
+    public float getJumpBoostChance() {
+        return mJumpBoostChance;
+    }
+    
+    public int getDifficulty() {
+        return mDifficulty;
+    }
+    
+    // parameters are used as cache keys
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RiseSectionParameters)) {
+            return false;
+        }
+        
+        RiseSectionParameters other = (RiseSectionParameters) obj;
+        return mStepRange == other.mStepRange &&
+                mMinStepDistance == other.mMinStepDistance &&
+                mMaxStepDistance == other.mMaxStepDistance &&
+                Float.floatToIntBits(mMovingPlatformFraction) == Float.floatToIntBits(other.mMovingPlatformFraction) &&
+                Float.floatToIntBits(mMinSpeed) == Float.floatToIntBits(other.mMinSpeed) &&
+                Float.floatToIntBits(mMaxSpeed) == Float.floatToIntBits(other.mMaxSpeed) &&
+                Float.floatToIntBits(mCrumblePlatformFraction) == Float.floatToIntBits(other.mCrumblePlatformFraction) &&
+                Float.floatToIntBits(mJumpBoostChance) == Float.floatToIntBits(other.mJumpBoostChance) &&
+                mDifficulty == other.mDifficulty;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = mStepRange;
+        hash = 31 * hash + mMinStepDistance;
+        hash = 31 * hash + mMaxStepDistance;
+        hash = 31 * hash + Float.floatToIntBits(mMovingPlatformFraction);
+        hash = 31 * hash + Float.floatToIntBits(mMinSpeed);
+        hash = 31 * hash + Float.floatToIntBits(mMaxSpeed);
+        hash = 31 * hash + Float.floatToIntBits(mCrumblePlatformFraction);
+        hash = 31 * hash + Float.floatToIntBits(mJumpBoostChance);
+        hash = 31 * hash + mDifficulty;
+        return hash;
+    }
+}
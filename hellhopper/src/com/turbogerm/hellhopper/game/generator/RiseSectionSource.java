@@ -21,14 +21,17 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game.platforms;
+package com.turbogerm.hellhopper.game.generator;
 
-import com.badlogic.gdx.assets.AssetManager;
-import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
 
-final class NormalPlatform extends PlatformBase {
+public interface RiseSectionSource {
     
-    public NormalPlatform(PlatformData platformData, int startStep, AssetManager assetManager) {
-        super(platformData, platformData.getPlatformPositions(startStep), assetManager);
-    }
+    int ENDLESS_STEP_RANGE = -1;
+    
+    // returns null when there are no more rise sections
+    RiseSectionData getNextRiseSection();
+    
+    // returns ENDLESS_STEP_RANGE if source never runs out of rise sections
+    int getTotalStepRange();
 }
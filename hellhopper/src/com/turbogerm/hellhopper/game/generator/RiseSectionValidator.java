@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.generator;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
+import com.turbogerm.hellhopper.dataaccess.PlatformMovementData;
+import com.turbogerm.hellhopper.dataaccess.RiseSectionData;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+import com.turbogerm.hellhopper.util.GameUtils;
+
+// checks that a section can be climbed from its bottom to its top, using the character jump physics;
+// platform tops are searched as a graph, a jump is possible when the horizontal distance is within
+// the precomputed jump envelope for the height difference
+// sections are assumed to start on a full width floor at step 0, and end below a full width ceiling
+// at the section step range, which is the floor of the next section
+// movement phases and flame cycle offsets are not simulated: a moving platform is reduced to the extent
+// of its path, and a flame to whether the character can wait for it to go out; the character can bounce
+// on normal platforms while waiting for any phase, so from them the best position on the path is used,
+// which assumes the platform gets there at some point of its cycle; crumble and flame platforms can only
+// be bounced on once, so from them every position on the path must work, and flame platforms are only
+// jumped on from normal platforms
+public final class RiseSectionValidator {
+    
+    private static final float AREA_WIDTH = GameArea.GAME_AREA_WIDTH;
+    
+    // character can be anywhere on the platform where its collision line still touches the platform
+    private static final float LANDING_WIDTH = PlatformData.PLATFORM_WIDTH + GameCharacter.COLLISION_WIDTH;
+    
+    private static final float HORIZONTAL_SPEED = GameCharacter.DEFAULT_HORIZONTAL_SPEED;
+    
+    // normal jump speed, followed by jump boost speeds by power
+    private static final float[] JUMP_SPEEDS = {
+            GameCharacter.JUMP_SPEED,
+            Platform.getJumpBoostSpeed(PlatformFeatureData.JUMP_BOOST_POWER_LOW),
+            Platform.getJumpBoostSpeed(PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM),
+            Platform.getJumpBoostSpeed(PlatformFeatureData.JUMP_BOOST_POWER_HIGH) };
+    private static final int NORMAL_JUMP = 0;
+    
+    private static final float[] MAX_JUMP_HEIGHTS;
+    
+    // jumping down is limited by the bottom of the visible area, which follows the top of the jump
+    private static final float MIN_JUMP_DELTA;
+    
+    // horizontal distance that can be travelled before landing, by jump speed and height difference;
+    // falling speed limit is ignored, it only makes landing later
+    private static final float ENVELOPE_RESOLUTION = 1.0f / 16.0f;
+    private static final float[][] JUMP_ENVELOPES;
+    
+    static {
+        float gravity = GameCharacter.GRAVITY;
+        
+        MAX_JUMP_HEIGHTS = new float[JUMP_SPEEDS.length];
+        for (int i = 0; i < JUMP_SPEEDS.length; i++) {
+            MAX_JUMP_HEIGHTS[i] = JUMP_SPEEDS[i] * JUMP_SPEEDS[i] / (2.0f * gravity);
+        }
+        
+        MIN_JUMP_DELTA = Math.min(MAX_JUMP_HEIGHTS[NORMAL_JUMP] -
+                GameArea.GAME_AREA_HEIGHT * GameArea.CHARACTER_POSITION_AREA_FRACTION, 0.0f);
+        
+        JUMP_ENVELOPES = new float[JUMP_SPEEDS.length][];
+        for (int i = 0; i < JUMP_SPEEDS.length; i++) {
+            float jumpSpeed = JUMP_SPEEDS[i];
+            int numEntries = (int) Math.ceil((MAX_JUMP_HEIGHTS[i] - MIN_JUMP_DELTA) / ENVELOPE_RESOLUTION) + 1;
+            float[] envelope = new float[numEntries];
+            for (int j = 0; j < numEntries; j++) {
+                float delta = MIN_JUMP_DELTA + j * ENVELOPE_RESOLUTION;
+                float discriminant = Math.max(jumpSpeed * jumpSpeed - 2.0f * gravity * delta, 0.0f);
+                float landingTime = (jumpSpeed + (float) Math.sqrt(discriminant)) / gravity;
+                envelope[j] = HORIZONTAL_SPEED * landingTime;
+            }
+            JUMP_ENVELOPES[i] = envelope;
+        }
+    }
+    
+    public static boolean isClimbable(RiseSectionData riseSection) {
+        Array<PlatformData> platformDataList = riseSection.getPlatformDataList();
+        int numPlatforms = platformDataList.size;
+        
+        // platform index, floor is the last node
+        float[] lowTops = new float[numPlatforms + 1];
+        float[] highTops = new float[numPlatforms + 1];
+        float[] baseTops = new float[numPlatforms + 1];
+        float[] minXs = new float[numPlatforms + 1];
+        float[] maxXs = new float[numPlatforms + 1];
+        int[] jumps = new int[numPlatforms + 1];
+        boolean[] isWaitable = new boolean[numPlatforms + 1];
+        boolean[] isFlame = new boolean[numPlatforms + 1];
+        
+        float maxMovementExtent = 0.0f;
+        Vector2 position = new Vector2();
+        for (int i = 0; i < numPlatforms; i++) {
+            PlatformData platformData = platformDataList.get(i);
+            platformData.fillPlatformPosition(0, position);
+            
+            float top = position.y + PlatformData.PLATFORM_HEIGHT;
+            baseTops[i] = top;
+            lowTops[i] = top;
+            highTops[i] = top;
+            minXs[i] = position.x;
+            maxXs[i] = position.x;
+            
+            PlatformMovementData movementData = platformData.getMovementData();
+            if (movementData != null) {
+                switch (movementData.getMovementType()) {
+                    case PlatformMovementData.HORIZONTAL:
+                        maxXs[i] += movementData.getRange();
+                        break;
+                        
+                    case PlatformMovementData.VERTICAL:
+                        highTops[i] += movementData.getRange();
+                        maxMovementExtent = Math.max(movementData.getRange(), maxMovementExtent);
+                        break;
+                        
+                    default:
+                        float radius = movementData.getRadius();
+                        maxXs[i] += radius * 2.0f;
+                        lowTops[i] -= radius;
+                        highTops[i] += radius;
+                        maxMovementExtent = Math.max(radius, maxMovementExtent);
+                        break;
+                }
+            }
+            
+            String platformType = platformData.getPlatformType();
+            jumps[i] = getJump(platformData.getFeaturesData());
+            isFlame[i] = PlatformData.FLAME.equals(platformType);
+            isWaitable[i] = !isFlame[i] && !PlatformData.CRUMBLE.equals(platformType);
+        }
+        
+        int floor = numPlatforms;
+        minXs[floor] = 0.0f;
+        maxXs[floor] = AREA_WIDTH;
+        jumps[floor] = NORMAL_JUMP;
+        isWaitable[floor] = true;
+        
+        float ceiling = riseSection.getStepRange() * PlatformData.STEP_HEIGHT;
+        
+        // depth first, highest platforms are pushed last and tried first, so the ceiling is usually
+        // found without visiting most of the platforms
+        boolean[] isVisited = new boolean[numPlatforms + 1];
+        int[] stack = new int[numPlatforms + 1];
+        int stackSize = 0;
+        stack[stackSize++] = floor;
+        isVisited[floor] = true;
+        
+        while (stackSize > 0) {
+            int source = stack[--stackSize];
+            float maxJumpHeight = MAX_JUMP_HEIGHTS[jumps[source]];
+            
+            float ceilingDelta = ceiling - (isWaitable[source] ? highTops[source] : lowTops[source]);
+            if (ceilingDelta <= maxJumpHeight) {
+                return true;
+            }
+            
+            // platforms are sorted by step, only the ones within jump height are checked
+            float lowerBound = lowTops[source] + MIN_JUMP_DELTA - maxMovementExtent;
+            float upperBound = highTops[source] + maxJumpHeight + maxMovementExtent;
+            
+            for (int target = source - 1; source != floor && target >= 0 && baseTops[target] >= lowerBound;
+                    target--) {
+                if (!isVisited[target] && isJumpPossible(source, target, lowTops, highTops, minXs, maxXs,
+                        jumps, isWaitable, isFlame)) {
+                    isVisited[target] = true;
+                    stack[stackSize++] = target;
+                }
+            }
+            
+            int start = source == floor ? 0 : source + 1;
+            for (int target = start; target < numPlatforms && baseTops[target] <= upperBound; target++) {
+                if (!isVisited[target] && isJumpPossible(source, target, lowTops, highTops, minXs, maxXs,
+                        jumps, isWaitable, isFlame)) {
+                    isVisited[target] = true;
+                    stack[stackSize++] = target;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    private static boolean isJumpPossible(int source, int target, float[] lowTops, float[] highTops,
+            float[] minXs, float[] maxXs, int[] jumps, boolean[] isWaitable, boolean[] isFlame) {
+        
+        boolean isSourceWaitable = isWaitable[source];
+        if (isFlame[target] && !isSourceWaitable) {
+            return false;
+        }
+        
+        float minDelta = lowTops[target] - highTops[source];
+        float maxDelta = highTops[target] - lowTops[source];
+        
+        // platform positions are left edges, their difference is the same as the difference of centers
+        float minOffset = minXs[target] - maxXs[source];
+        float maxOffset = maxXs[target] - minXs[source];
+        
+        int jump = jumps[source];
+        if (isSourceWaitable) {
+            float delta = Math.max(minDelta, MIN_JUMP_DELTA);
+            if (delta > maxDelta) {
+                return false;
+            }
+            
+            float distance = getMinCircularDistance(minOffset, maxOffset) - LANDING_WIDTH;
+            return isWithinReach(jump, delta, distance);
+        } else {
+            if (minDelta < MIN_JUMP_DELTA) {
+                return false;
+            }
+            
+            float distance = getMaxCircularDistance(minOffset, maxOffset) - LANDING_WIDTH;
+            return isWithinReach(jump, maxDelta, distance);
+        }
+    }
+    
+    private static boolean isWithinReach(int jump, float delta, float distance) {
+        if (delta < MIN_JUMP_DELTA || delta > MAX_JUMP_HEIGHTS[jump]) {
+            return false;
+        }
+        
+        // rounded up to the next entry, reach decreases with height
+        float[] envelope = JUMP_ENVELOPES[jump];
+        int index = (int) Math.ceil((delta - MIN_JUMP_DELTA) / ENVELOPE_RESOLUTION);
+        return envelope[Math.min(index, envelope.length - 1)] >= distance;
+    }
+    
+    // highest power jump boost; character can aim for it
+    private static int getJump(Array<PlatformFeatureData> featuresData) {
+        int jump = NORMAL_JUMP;
+        if (featuresData != null) {
+            for (int i = 0; i < featuresData.size; i++) {
+                PlatformFeatureData featureData = featuresData.get(i);
+                if (featureData.getFeatureType() == PlatformFeatureData.JUMP_BOOST) {
+                    jump = Math.max(featureData.getPower() + 1, jump);
+                }
+            }
+        }
+        
+        return jump;
+    }
+    
+    // game area wraps horizontally; distances are measured around it
+    private static float getMinCircularDistance(float minOffset, float maxOffset) {
+        if (maxOffset - minOffset >= AREA_WIDTH) {
+            return 0.0f;
+        }
+        
+        float start = GameUtils.getPositiveModulus(minOffset, AREA_WIDTH);
+        float end = start + (maxOffset - minOffset);
+        if (start == 0.0f || end >= AREA_WIDTH) {
+            return 0.0f;
+        }
+        
+        return Math.min(start, AREA_WIDTH - end);
+    }
+    
+    private static float getMaxCircularDistance(float minOffset, float maxOffset) {
+        float halfWidth = AREA_WIDTH / 2.0f;
+        if (maxOffset - minOffset >= AREA_WIDTH) {
+            return halfWidth;
+        }
+        
+        float start = GameUtils.getPositiveModulus(minOffset, AREA_WIDTH);
+        float end = start + (maxOffset - minOffset);
+        if ((start <= halfWidth && end >= halfWidth) || end >= AREA_WIDTH + halfWidth) {
+            return halfWidth;
+        }
+        
+        return Math.max(getCircularDistance(start), getCircularDistance(end));
+    }
+    
+    private static float getCircularDistance(float offset) {
+        float wrappedOffset = GameUtils.getPositiveModulus(offset, AREA_WIDTH);
+        return Math.min(wrappedOffset, AREA_WIDTH - wrappedOffset);
+    }
+}
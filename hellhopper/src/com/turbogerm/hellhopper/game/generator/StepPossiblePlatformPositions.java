@@ -1,37 +1,19 @@
-/*
- * Copyright (c) 2013 Goran Mrzljak
- *
- * Permission is hereby granted, free of charge, to any person obtaining
- * a copy of this software and associated documentation files (the
- * "Software"), to deal in the Software without restriction, including
- * without limitation the rights to use, copy, modify, merge, publish,
- * distribute, sublicense, and/or sell copies of the Software, and to
- * permit persons to whom the Software is furnished to do so, subject to
- * the following conditions:
- *
- * The above copyright notice and this permission notice shall be
- * included in all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
- * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
- * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
- * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
- * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
- * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
- * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
- *
- */
 package com.turbogerm.hellhopper.game.generator;
 
-import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
 
+// free offsets of one step as bits of a long, lowest bit is offset 0;
+// there are MAX_PLATFORM_OFFSET + 1 offsets, well below 64
 final class StepPossiblePlaformPositions {
+    
+    private static final long ALL_OFFSETS = (1L << (PlatformData.MAX_PLATFORM_OFFSET + 1)) - 1L;
+    
     private final int mStep;
-    private final Array<Integer> mOffsets;
+    private long mOffsets;
     
-    public StepPossiblePlaformPositions(int step, Array<Integer> offsets) {
+    public StepPossiblePlaformPositions(int step) {
         mStep = step;
-        mOffsets = offsets;
+        mOffsets = ALL_OFFSETS;
     }
     
     public int getStep() {
@@ -39,14 +21,28 @@ final class StepPossiblePlaformPositions {
     }
     
     public int getNumPositions() {
-        return mOffsets.size;
+        return Long.bitCount(mOffsets);
     }
     
+    // index-th free offset in ascending order
     public int getOffset(int index) {
-        return mOffsets.get(index);
+        long offsets = mOffsets;
+        for (int i = 0; i < index; i++) {
+            offsets &= offsets - 1L;
+        }
+        
+        return Long.numberOfTrailingZeros(offsets);
     }
     
-    public void removeOffsetValue(int value) {
-        mOffsets.removeValue(value, false);
+    // removes offsets in range [first, last], range can reach outside of valid offsets
+    public void removeOffsets(int first, int last) {
+        first = Math.max(first, 0);
+        last = Math.min(last, PlatformData.MAX_PLATFORM_OFFSET);
+        if (first > last) {
+            return;
+        }
+        
+        long range = (1L << (last + 1)) - (1L << first);
+        mOffsets &= ~range;
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.badlogic.gdx.utils.IntArray;
+
+// crumble platform starts crumbling when character lands on it, and disappears after the countdown
+final class CrumbleSystem {
+    
+    private static final float CRUMBLING_COUNTDOWN_DURATION = 1.0f;
+    
+    public static void init(PlatformStore store, int crumble, int platform) {
+        store.crumblePlatform[crumble] = platform;
+        store.crumbling[crumble] = false;
+        store.crumblingStartTime[crumble] = 0.0f;
+        store.crumblingCountdown[crumble] = CRUMBLING_COUNTDOWN_DURATION;
+    }
+    
+    // platforms that finished crumbling are no longer updated
+    public static void update(PlatformStore store, float gameTime) {
+        IntArray crumblingCrumbles = store.crumblingCrumbles;
+        for (int i = crumblingCrumbles.size - 1; i >= 0; i--) {
+            int crumble = crumblingCrumbles.get(i);
+            store.crumblingCountdown[crumble] =
+                    CRUMBLING_COUNTDOWN_DURATION - (gameTime - store.crumblingStartTime[crumble]);
+            if (store.crumblingCountdown[crumble] <= 0.0f) {
+                store.present[store.crumblePlatform[crumble]] = false;
+                crumblingCrumbles.removeIndex(i);
+            }
+        }
+    }
+    
+    // crumbling platform stops moving
+    public static void startCrumbling(PlatformStore store, int crumble) {
+        store.crumbling[crumble] = true;
+        store.crumblingStartTime[crumble] = store.gameTime;
+        store.crumblingCrumbles.add(crumble);
+        
+        int platform = store.crumblePlatform[crumble];
+        store.collidable[platform] = false;
+        if (store.hasMovement(platform)) {
+            PlatformMovementSystem.stop(store, store.movementStart[platform]);
+        }
+    }
+    
+    public static float getAlpha(PlatformStore store, int crumble) {
+        if (store.crumbling[crumble]) {
+            return Math.max(store.crumblingCountdown[crumble] / CRUMBLING_COUNTDOWN_DURATION, 0.0f);
+        }
+        
+        return 1.0f;
+    }
+}
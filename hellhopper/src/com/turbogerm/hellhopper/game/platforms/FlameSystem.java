@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.turbogerm.hellhopper.util.GameUtils;
+
+// flame cycles through dormant, transition, flame and transition states; state is a function of game time
+final class FlameSystem {
+    
+    public static final int DORMANT = 0;
+    public static final int TRANSITION1 = 1;
+    public static final int FLAME = 2;
+    public static final int TRANSITION2 = 3;
+    private static final int STATE_COUNT = 4;
+    
+    private static final float[] STATE_DURATIONS;
+    private static final float CYCLE_DURATION;
+    
+    // flame cycle phase is derived from platform height, so that on a steady climb at this speed
+    // flames come into view at the start of the cycle, and flames on neighbouring platforms are not in sync
+    private static final float CYCLE_START_CLIMB_SPEED = 8.0f;
+    
+    static {
+        STATE_DURATIONS = new float[] { 2.0f, 2.0f, 4.0f, 2.0f };
+        
+        float cycleDuration = 0.0f;
+        for (int i = 0; i < STATE_COUNT; i++) {
+            cycleDuration += STATE_DURATIONS[i];
+        }
+        CYCLE_DURATION = cycleDuration;
+    }
+    
+    public static void init(PlatformStore store, int flame, int platform, float y) {
+        store.flamePlatform[flame] = platform;
+        store.flameCycleStartTime[flame] = y / CYCLE_START_CLIMB_SPEED;
+        store.flameState[flame] = DORMANT;
+        store.flameStateElapsed[flame] = 0.0f;
+    }
+    
+    public static void update(PlatformStore store, int first, int end, float gameTime) {
+        int[] flameStart = store.flameStart;
+        for (int flame = flameStart[first]; flame < flameStart[end]; flame++) {
+            float stateElapsed = GameUtils.getPositiveModulus(
+                    gameTime - store.flameCycleStartTime[flame], CYCLE_DURATION);
+            
+            int state = DORMANT;
+            while (state < STATE_COUNT - 1 && stateElapsed >= STATE_DURATIONS[state]) {
+                stateElapsed -= STATE_DURATIONS[state];
+                state++;
+            }
+            
+            store.flameState[flame] = state;
+            store.flameStateElapsed[flame] = stateElapsed;
+        }
+    }
+    
+    public static boolean isFlameActive(PlatformStore store, int flame) {
+        return store.flameState[flame] == FLAME;
+    }
+    
+    public static float getFlameActiveElapsed(PlatformStore store, int flame) {
+        return isFlameActive(store, flame) ? store.flameStateElapsed[flame] : 0.0f;
+    }
+    
+    // 0 when dormant, 1 when burning, linear in between during transitions
+    public static float getFlameIntensity(PlatformStore store, int flame) {
+        int state = store.flameState[flame];
+        float stateElapsedFraction = store.flameStateElapsed[flame] / STATE_DURATIONS[state];
+        switch (state) {
+            case DORMANT:
+                return 0.0f;
+                
+            case TRANSITION1:
+                return stateElapsedFraction;
+                
+            case FLAME:
+                return 1.0f;
+                
+            case TRANSITION2:
+                return 1.0f - stateElapsedFraction;
+        }
+        
+        return 0.0f;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
+import com.turbogerm.hellhopper.game.CollisionEffect;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
+
+// jump boost crater throws the character higher, and discharges for a while after the jump
+final class JumpBoostSystem {
+    
+    private static final float CRATER_LOW_WIDTH = 0.5f;
+    private static final float CRATER_MEDIUM_WIDTH = 0.75f;
+    private static final float CRATER_HIGH_WIDTH = 1.0f;
+    
+    private static final float LOW_POWER_MULTIPLIER = 1.3f;
+    private static final float MEDIUM_POWER_MULTIPLIER = 1.6f;
+    private static final float HIGH_POWER_MULTIPLIER = 1.9f;
+    
+    private static final float DISCHARGE_DURATION = 0.4f;
+    
+    public static float getJumpBoostSpeed(int power) {
+        switch (power) {
+            case Platform.JUMP_BOOST_LOW_POWER:
+                return GameCharacter.JUMP_SPEED * LOW_POWER_MULTIPLIER;
+            case Platform.JUMP_BOOST_MEDIUM_POWER:
+                return GameCharacter.JUMP_SPEED * MEDIUM_POWER_MULTIPLIER;
+            default:
+                return GameCharacter.JUMP_SPEED * HIGH_POWER_MULTIPLIER;
+        }
+    }
+    
+    public static void init(PlatformStore store, int jumpBoost, int platform, PlatformFeatureData featureData) {
+        
+        int featureType = featureData.getFeatureType();
+        if (featureType != PlatformFeatureData.JUMP_BOOST) {
+            ExceptionThrower.throwException("Invalid platform feature type: %d", featureType);
+        }
+        
+        int power = featureData.getPower();
+        float craterWidth;
+        switch (power) {
+            case Platform.JUMP_BOOST_LOW_POWER:
+                craterWidth = CRATER_LOW_WIDTH;
+                break;
+                
+            case Platform.JUMP_BOOST_MEDIUM_POWER:
+                craterWidth = CRATER_MEDIUM_WIDTH;
+                break;
+                
+            default:
+                craterWidth = CRATER_HIGH_WIDTH;
+                break;
+        }
+        
+        float positionFraction = featureData.getPosition();
+        
+        store.jumpBoostPlatform[jumpBoost] = platform;
+        store.jumpBoostPower[jumpBoost] = power;
+        store.jumpBoostCraterOffsetX[jumpBoost] = (PlatformData.PLATFORM_WIDTH - craterWidth) * positionFraction;
+        store.jumpBoostCraterWidth[jumpBoost] = craterWidth;
+        store.jumpBoostSpeed[jumpBoost] = getJumpBoostSpeed(power);
+        store.jumpBoostDischargeStartTime[jumpBoost] = 0.0f;
+        store.jumpBoostDischargeElapsed[jumpBoost] = DISCHARGE_DURATION;
+    }
+    
+    // jump boosts that finished discharging are no longer updated
+    public static void update(PlatformStore store, float gameTime) {
+        IntArray dischargingJumpBoosts = store.dischargingJumpBoosts;
+        for (int i = dischargingJumpBoosts.size - 1; i >= 0; i--) {
+            int jumpBoost = dischargingJumpBoosts.get(i);
+            store.jumpBoostDischargeElapsed[jumpBoost] = gameTime - store.jumpBoostDischargeStartTime[jumpBoost];
+            if (store.jumpBoostDischargeElapsed[jumpBoost] >= DISCHARGE_DURATION) {
+                dischargingJumpBoosts.removeIndex(i);
+            }
+        }
+    }
+    
+    public static boolean isContact(PlatformStore store, int jumpBoost, float relativeCollisionPointX) {
+        float charX1 = relativeCollisionPointX + GameCharacter.COLLISION_WIDTH_OFFSET;
+        float charX2 = charX1 + GameCharacter.COLLISION_WIDTH;
+        
+        float featureX1 = store.jumpBoostCraterOffsetX[jumpBoost];
+        float featureX2 = featureX1 + store.jumpBoostCraterWidth[jumpBoost];
+        
+        // http://eli.thegreenplace.net/2008/08/15/intersection-of-1d-segments/
+        return charX2 >= featureX1 && featureX2 >= charX1;
+    }
+    
+    public static void applyContact(PlatformStore store, int jumpBoost, CollisionEffect collisionEffect) {
+        collisionEffect.set(CollisionEffect.JUMP_BOOST, store.jumpBoostSpeed[jumpBoost]);
+        
+        if (!isDischarging(store, jumpBoost)) {
+            store.dischargingJumpBoosts.add(jumpBoost);
+        }
+        store.jumpBoostDischargeStartTime[jumpBoost] = store.gameTime;
+        store.jumpBoostDischargeElapsed[jumpBoost] = 0.0f;
+    }
+    
+    public static boolean isDischarging(PlatformStore store, int jumpBoost) {
+        return store.jumpBoostDischargeElapsed[jumpBoost] < DISCHARGE_DURATION;
+    }
+    
+    public static float getDischargeElapsedFraction(PlatformStore store, int jumpBoost) {
+        return Math.min(store.jumpBoostDischargeElapsed[jumpBoost] / DISCHARGE_DURATION, 1.0f);
+    }
+}
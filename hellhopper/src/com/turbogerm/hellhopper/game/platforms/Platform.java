@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
+import com.turbogerm.hellhopper.game.CollisionEffect;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.util.Pools;
+
+// view of one platform in a platform store, used for collision and rendering;
+// platform state lives in the store and is updated by the platform systems
+public final class Platform {
+    
+    public static final int NORMAL = 0;
+    public static final int CRUMBLE = 1;
+    public static final int FLAME = 2;
+    
+    public static final int JUMP_BOOST_LOW_POWER = PlatformFeatureData.JUMP_BOOST_POWER_LOW;
+    public static final int JUMP_BOOST_MEDIUM_POWER = PlatformFeatureData.JUMP_BOOST_POWER_MEDIUM;
+    public static final int JUMP_BOOST_HIGH_POWER = PlatformFeatureData.JUMP_BOOST_POWER_HIGH;
+    
+    private final PlatformStore mStore;
+    private final int mIndex;
+    
+    // opaque per platform state owned by the render layer
+    private Object mRenderData;
+    
+    // speed the character is thrown up with from a jump boost crater of given power
+    public static float getJumpBoostSpeed(int power) {
+        return JumpBoostSystem.getJumpBoostSpeed(power);
+    }
+    
+    Platform(PlatformStore store, int index) {
+        mStore = store;
+        mIndex = index;
+    }
+    
+    public boolean isCollision(Vector2 c1, Vector2 c2, Vector2 intersection) {
+        
+        if (!mStore.collidable[mIndex]) {
+            return false;
+        }
+        
+        // platforms well above or below the collision line are rejected without intersecting;
+        // margin keeps the result the same as intersecting for platforms close to the line
+        float pY = mStore.y[mIndex] + PlatformData.PLATFORM_HEIGHT;
+        float cTop = Math.max(c1.y, c2.y);
+        float cBottom = Math.min(c1.y, c2.y);
+        float cHeight = cTop - cBottom;
+        if (pY > cTop + cHeight || pY < cBottom - cHeight) {
+            return false;
+        }
+        
+        Vector2 p1 = Pools.obtainVector();
+        Vector2 p2 = Pools.obtainVector();
+        
+        float x = mStore.x[mIndex];
+        p1.set(x - GameCharacter.COLLISION_LINE_LENGTH, pY);
+        p2.set(x + PlatformData.PLATFORM_WIDTH - GameCharacter.COLLISION_WIDTH_OFFSET, pY);
+        
+        boolean isIntersection = Intersector.intersectSegments(c1, c2, p1, p2, intersection);
+        
+        Pools.freeVector(p1);
+        Pools.freeVector(p2);
+        
+        if (isIntersection && mStore.type[mIndex] == CRUMBLE) {
+            CrumbleSystem.startCrumbling(mStore, getCrumble());
+        }
+        
+        return isIntersection;
+    }
+    
+    public void fillCollisionEffect(float collisionPointX, CollisionEffect collisionEffect) {
+        int flame = getFlame();
+        if (flame != -1 && FlameSystem.isFlameActive(mStore, flame)) {
+            collisionEffect.set(CollisionEffect.BURN);
+            return;
+        }
+        
+        float relativeCollisionPointX = collisionPointX - mStore.x[mIndex];
+        int jumpBoostEnd = mStore.jumpBoostStart[mIndex + 1];
+        for (int jumpBoost = mStore.jumpBoostStart[mIndex]; jumpBoost < jumpBoostEnd; jumpBoost++) {
+            if (JumpBoostSystem.isContact(mStore, jumpBoost, relativeCollisionPointX)) {
+                JumpBoostSystem.applyContact(mStore, jumpBoost, collisionEffect);
+                return;
+            }
+        }
+        
+        collisionEffect.set(CollisionEffect.NONE);
+    }
+    
+    public float getX() {
+        return mStore.x[mIndex];
+    }
+    
+    public float getY() {
+        return mStore.y[mIndex];
+    }
+    
+    public int getType() {
+        return mStore.type[mIndex];
+    }
+    
+    public int getVisualVariant() {
+        return mStore.visualVariant[mIndex];
+    }
+    
+    public float getAlpha() {
+        int crumble = getCrumble();
+        return crumble != -1 ? CrumbleSystem.getAlpha(mStore, crumble) : 1.0f;
+    }
+    
+    public boolean hasMovement() {
+        return mStore.hasMovement(mIndex);
+    }
+    
+    public boolean isMoving() {
+        return mStore.hasMovement(mIndex) && !mStore.isCrumbling(mIndex);
+    }
+    
+    public boolean isFlameActive() {
+        int flame = getFlame();
+        return flame != -1 && FlameSystem.isFlameActive(mStore, flame);
+    }
+    
+    public float getFlameActiveElapsed() {
+        int flame = getFlame();
+        return flame != -1 ? FlameSystem.getFlameActiveElapsed(mStore, flame) : 0.0f;
+    }
+    
+    // 0 when dormant, 1 when burning, linear in between during transitions
+    public float getFlameIntensity() {
+        int flame = getFlame();
+        return flame != -1 ? FlameSystem.getFlameIntensity(mStore, flame) : 0.0f;
+    }
+    
+    public int getJumpBoostCount() {
+        return mStore.jumpBoostStart[mIndex + 1] - mStore.jumpBoostStart[mIndex];
+    }
+    
+    public int getJumpBoostPower(int index) {
+        return mStore.jumpBoostPower[mStore.jumpBoostStart[mIndex] + index];
+    }
+    
+    public float getJumpBoostCraterOffsetX(int index) {
+        return mStore.jumpBoostCraterOffsetX[mStore.jumpBoostStart[mIndex] + index];
+    }
+    
+    public float getJumpBoostCraterWidth(int index) {
+        return mStore.jumpBoostCraterWidth[mStore.jumpBoostStart[mIndex] + index];
+    }
+    
+    public boolean isJumpBoostDischarging(int index) {
+        return JumpBoostSystem.isDischarging(mStore, mStore.jumpBoostStart[mIndex] + index);
+    }
+    
+    public float getJumpBoostDischargeElapsedFraction(int index) {
+        return JumpBoostSystem.getDischargeElapsedFraction(mStore, mStore.jumpBoostStart[mIndex] + index);
+    }
+    
+    public Object getRenderData() {
+        return mRenderData;
+    }
+    
+    public void setRenderData(Object renderData) {
+        mRenderData = renderData;
+    }
+    
+    // -1 when platform has no flame component
+    private int getFlame() {
+        int flame = mStore.flameStart[mIndex];
+        return flame < mStore.flameStart[mIndex + 1] ? flame : -1;
+    }
+    
+    // -1 when platform has no crumble component
+    private int getCrumble() {
+        int crumble = mStore.crumbleStart[mIndex];
+        return crumble < mStore.crumbleStart[mIndex + 1] ? crumble : -1;
+    }
+}
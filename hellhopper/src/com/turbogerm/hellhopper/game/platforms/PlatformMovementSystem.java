@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.PlatformMovementData;
+import com.turbogerm.hellhopper.game.PlatformToCharCollisionData;
+import com.turbogerm.hellhopper.util.GameUtils;
+import com.turbogerm.hellhopper.util.Pools;
+
+// position is a function of game time, so a platform that was not updated for a while
+// continues in the correct phase
+final class PlatformMovementSystem {
+    
+    public static final int HORIZONTAL = PlatformMovementData.HORIZONTAL;
+    public static final int VERTICAL = PlatformMovementData.VERTICAL;
+    public static final int CIRCULAR = PlatformMovementData.CIRCULAR;
+    
+    private static final float PLATFORM_CENTER_OFFSET_X = PlatformData.PLATFORM_WIDTH / 2.0f;
+    private static final float PLATFORM_CENTER_OFFSET_Y = PlatformData.PLATFORM_HEIGHT / 2.0f;
+    
+    public static void init(PlatformStore store, int movement, int platform, PlatformMovementData movementData,
+            float x, float y) {
+        
+        store.movementPlatform[movement] = platform;
+        int movementType = movementData.getMovementType();
+        store.movementType[movement] = movementType;
+        
+        if (movementType == CIRCULAR) {
+            float radius = movementData.getRadius();
+            float angleSpeed = movementData.getSpeed() / radius * MathUtils.radDeg;
+            store.movementOriginX[movement] = x + PLATFORM_CENTER_OFFSET_X + radius;
+            store.movementOriginY[movement] = y + PLATFORM_CENTER_OFFSET_Y;
+            store.movementRange[movement] = radius;
+            store.movementSpeed[movement] = movementData.isCcw() ? angleSpeed : -angleSpeed;
+            store.movementPhase[movement] = movementData.getInitialDegrees();
+        } else {
+            store.movementOriginX[movement] = x;
+            store.movementOriginY[movement] = y;
+            store.movementRange[movement] = movementData.getRange();
+            store.movementSpeed[movement] = movementData.getSpeed();
+            store.movementPhase[movement] = movementData.getInitialOffset();
+        }
+    }
+    
+    public static void update(PlatformStore store, int first, int end, float gameTime) {
+        int[] movementStart = store.movementStart;
+        for (int movement = movementStart[first]; movement < movementStart[end]; movement++) {
+            updatePosition(store, movement, store.movementPlatform[movement], gameTime);
+        }
+    }
+    
+    // inactive platforms are skipped, their position is evaluated when they are checked for activity
+    public static void updateActive(PlatformStore store, int first, int end, float gameTime,
+            float activeRangeLower, float activeRangeUpper,
+            Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+        
+        Vector2 p1 = Pools.obtainVector();
+        Vector2 p2 = Pools.obtainVector();
+        
+        int[] movementStart = store.movementStart;
+        for (int movement = movementStart[first]; movement < movementStart[end]; movement++) {
+            int platform = store.movementPlatform[movement];
+            if (!store.isActive(platform, activeRangeLower, activeRangeUpper)) {
+                continue;
+            }
+            
+            p1.set(store.x[platform], store.y[platform] + PlatformData.PLATFORM_HEIGHT);
+            
+            updatePosition(store, movement, platform, gameTime);
+            
+            p2.set(store.x[platform], store.y[platform] + PlatformData.PLATFORM_HEIGHT);
+            
+            // only check for collision when platform is going up, and character is going down
+            if (collisionData.isEnabled && p2.y > p1.y) {
+                collisionData.isCollision = Intersector.intersectSegments(
+                        c1, c2, p1, p2, collisionData.collisionPoint);
+                if (collisionData.isCollision) {
+                    collisionData.collisionPlatform = store.platforms[platform];
+                    collisionData.collisionPoint.y = p2.y;
+                }
+            }
+        }
+        
+        Pools.freeVector(p1);
+        Pools.freeVector(p2);
+    }
+    
+    // platform stays where it was at the last update; travelled distance is frozen instead of
+    // checking for stopped platforms on every update
+    public static void stop(PlatformStore store, int movement) {
+        store.movementPhase[movement] += store.movementSpeed[movement] * store.gameTime;
+        store.movementSpeed[movement] = 0.0f;
+    }
+    
+    public static boolean hasVerticalMovement(PlatformMovementData movementData) {
+        return movementData.getMovementType() != HORIZONTAL;
+    }
+    
+    private static void updatePosition(PlatformStore store, int movement, int platform, float gameTime) {
+        float travelled = store.movementPhase[movement] + store.movementSpeed[movement] * gameTime;
+        switch (store.movementType[movement]) {
+            case HORIZONTAL:
+                store.x[platform] = store.movementOriginX[movement] +
+                        getPingPongOffset(travelled, store.movementRange[movement]);
+                break;
+                
+            case VERTICAL:
+                store.y[platform] = store.movementOriginY[movement] +
+                        getPingPongOffset(travelled, store.movementRange[movement]);
+                break;
+                
+            default:
+                float angle = GameUtils.getPositiveModulus(travelled, 360.0f);
+                float radius = store.movementRange[movement];
+                store.x[platform] = store.movementOriginX[movement] + MathUtils.cosDeg(angle) * radius -
+                        PLATFORM_CENTER_OFFSET_X;
+                store.y[platform] = store.movementOriginY[movement] + MathUtils.sinDeg(angle) * radius -
+                        PLATFORM_CENTER_OFFSET_Y;
+                break;
+        }
+    }
+    
+    // travelled distance folds back and forth over [0, range]
+    private static float getPingPongOffset(float travelled, float range) {
+        if (range <= 0.0f) {
+            return 0.0f;
+        }
+        
+        float offset = GameUtils.getPositiveModulus(travelled, range * 2.0f);
+        return offset <= range ? offset : range * 2.0f - offset;
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.platforms;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.dataaccess.PlatformFeatureData;
+import com.turbogerm.hellhopper.game.PlatformToCharCollisionData;
+import com.turbogerm.hellhopper.util.ExceptionThrower;
+import com.turbogerm.hellhopper.util.GameUtils;
+import com.turbogerm.hellhopper.util.Pools;
+
+// state of all platforms in one rise section, kept in dense primitive arrays and indexed by platform;
+// each component (movement, flame, crumble, jump boost) has its own arrays, ordered by platform;
+// components of platform i have indexes in range [componentStart[i], componentStart[i + 1]), and
+// componentPlatform maps a component back to its platform;
+// systems only iterate over components, so platforms without components are never touched;
+// crumbling and discharging are short lived, so those systems only iterate over the components
+// that are currently crumbling or discharging
+public final class PlatformStore {
+    
+    private static final int EVENT_COMPONENTS_INITIAL_CAPACITY = 4;
+    
+    final int size;
+    final Platform[] platforms;
+    final float[] x;
+    final float[] y;
+    final int[] type;
+    final int[] visualVariant;
+    // crumbled platforms are gone, and crumbling platforms can not be landed on
+    final boolean[] present;
+    final boolean[] collidable;
+    
+    final int[] movementStart;
+    final int[] movementPlatform;
+    final int[] movementType;
+    // left or bottom limit for linear movement, rotation center for circular movement
+    final float[] movementOriginX;
+    final float[] movementOriginY;
+    // range for linear movement, radius for circular movement
+    final float[] movementRange;
+    // meters per second for linear movement, degrees per second (negative when clockwise) for circular movement
+    final float[] movementSpeed;
+    // initial offset for linear movement, initial degrees for circular movement
+    final float[] movementPhase;
+    
+    final int[] flameStart;
+    final int[] flamePlatform;
+    final float[] flameCycleStartTime;
+    final int[] flameState;
+    final float[] flameStateElapsed;
+    
+    final int[] crumbleStart;
+    final int[] crumblePlatform;
+    final boolean[] crumbling;
+    final float[] crumblingStartTime;
+    final float[] crumblingCountdown;
+    final IntArray crumblingCrumbles;
+    
+    final int[] jumpBoostStart;
+    final int[] jumpBoostPlatform;
+    final int[] jumpBoostPower;
+    final float[] jumpBoostCraterOffsetX;
+    final float[] jumpBoostCraterWidth;
+    final float[] jumpBoostSpeed;
+    final float[] jumpBoostDischargeStartTime;
+    final float[] jumpBoostDischargeElapsed;
+    final IntArray dischargingJumpBoosts;
+    
+    // time of the last update, used for events that happen between updates
+    float gameTime;
+    
+    public PlatformStore(PlatformData[] platformDataList, int startStep) {
+        size = platformDataList.length;
+        
+        platforms = new Platform[size];
+        x = new float[size];
+        y = new float[size];
+        type = new int[size];
+        visualVariant = new int[size];
+        present = new boolean[size];
+        collidable = new boolean[size];
+        
+        movementStart = new int[size + 1];
+        flameStart = new int[size + 1];
+        crumbleStart = new int[size + 1];
+        jumpBoostStart = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            PlatformData platformData = platformDataList[i];
+            int platformType = getPlatformType(platformData.getPlatformType());
+            Array<PlatformFeatureData> featuresData = platformData.getFeaturesData();
+            
+            movementStart[i + 1] = movementStart[i] + (platformData.getMovementData() != null ? 1 : 0);
+            flameStart[i + 1] = flameStart[i] + (platformType == Platform.FLAME ? 1 : 0);
+            crumbleStart[i + 1] = crumbleStart[i] + (platformType == Platform.CRUMBLE ? 1 : 0);
+            jumpBoostStart[i + 1] = jumpBoostStart[i] + (featuresData != null ? featuresData.size : 0);
+        }
+        
+        int movementCount = movementStart[size];
+        movementPlatform = new int[movementCount];
+        movementType = new int[movementCount];
+        movementOriginX = new float[movementCount];
+        movementOriginY = new float[movementCount];
+        movementRange = new float[movementCount];
+        movementSpeed = new float[movementCount];
+        movementPhase = new float[movementCount];
+        
+        int flameCount = flameStart[size];
+        flamePlatform = new int[flameCount];
+        flameCycleStartTime = new float[flameCount];
+        flameState = new int[flameCount];
+        flameStateElapsed = new float[flameCount];
+        
+        int crumbleCount = crumbleStart[size];
+        crumblePlatform = new int[crumbleCount];
+        crumbling = new boolean[crumbleCount];
+        crumblingStartTime = new float[crumbleCount];
+        crumblingCountdown = new float[crumbleCount];
+        crumblingCrumbles = new IntArray(false, EVENT_COMPONENTS_INITIAL_CAPACITY);
+        
+        int jumpBoostCount = jumpBoostStart[size];
+        jumpBoostPlatform = new int[jumpBoostCount];
+        jumpBoostPower = new int[jumpBoostCount];
+        jumpBoostCraterOffsetX = new float[jumpBoostCount];
+        jumpBoostCraterWidth = new float[jumpBoostCount];
+        jumpBoostSpeed = new float[jumpBoostCount];
+        jumpBoostDischargeStartTime = new float[jumpBoostCount];
+        jumpBoostDischargeElapsed = new float[jumpBoostCount];
+        dischargingJumpBoosts = new IntArray(false, EVENT_COMPONENTS_INITIAL_CAPACITY);
+        
+        Vector2 position = Pools.obtainVector();
+        for (int i = 0; i < size; i++) {
+            PlatformData platformData = platformDataList[i];
+            platformData.fillPlatformPosition(startStep, position);
+            
+            platforms[i] = new Platform(this, i);
+            x[i] = position.x;
+            y[i] = position.y;
+            type[i] = getPlatformType(platformData.getPlatformType());
+            visualVariant[i] = getVisualVariant(type[i], platformData, startStep);
+            present[i] = true;
+            collidable[i] = true;
+            
+            if (hasMovement(i)) {
+                PlatformMovementSystem.init(this, movementStart[i], i, platformData.getMovementData(), x[i], y[i]);
+            }
+            
+            if (flameStart[i] < flameStart[i + 1]) {
+                FlameSystem.init(this, flameStart[i], i, y[i]);
+            }
+            
+            if (crumbleStart[i] < crumbleStart[i + 1]) {
+                CrumbleSystem.init(this, crumbleStart[i], i);
+            }
+            
+            Array<PlatformFeatureData> featuresData = platformData.getFeaturesData();
+            for (int j = jumpBoostStart[i]; j < jumpBoostStart[i + 1]; j++) {
+                JumpBoostSystem.init(this, j, i, featuresData.get(j - jumpBoostStart[i]));
+            }
+        }
+        Pools.freeVector(position);
+        
+        PlatformMovementSystem.update(this, 0, size, 0.0f);
+        gameTime = 0.0f;
+    }
+    
+    // updates platforms in range [first, end)
+    public void update(int first, int end, float gameTime) {
+        this.gameTime = gameTime;
+        
+        if (movementStart[first] < movementStart[end]) {
+            PlatformMovementSystem.update(this, first, end, gameTime);
+        }
+        updateStaticComponents(first, end, gameTime);
+    }
+    
+    // updates active platforms in range [first, end), for platforms that can leave their step;
+    // platforms moving up are also checked for collision with the character, because the character
+    // can not see them coming
+    public void updateActive(int first, int end, float gameTime, float activeRangeLower, float activeRangeUpper,
+            Vector2 c1, Vector2 c2, PlatformToCharCollisionData collisionData) {
+        this.gameTime = gameTime;
+        
+        if (movementStart[first] < movementStart[end]) {
+            PlatformMovementSystem.updateActive(this, first, end, gameTime, activeRangeLower, activeRangeUpper,
+                    c1, c2, collisionData);
+        }
+        updateStaticComponents(first, end, gameTime);
+    }
+    
+    // only evaluates positions, used to find out if off screen platforms moved into the active area
+    public void updatePositions(int first, int end, float gameTime) {
+        if (movementStart[first] < movementStart[end]) {
+            PlatformMovementSystem.update(this, first, end, gameTime);
+        }
+    }
+    
+    // components that do not move the platform
+    private void updateStaticComponents(int first, int end, float gameTime) {
+        if (flameStart[first] < flameStart[end]) {
+            FlameSystem.update(this, first, end, gameTime);
+        }
+        
+        if (crumblingCrumbles.size > 0) {
+            CrumbleSystem.update(this, gameTime);
+        }
+        
+        if (dischargingJumpBoosts.size > 0) {
+            JumpBoostSystem.update(this, gameTime);
+        }
+    }
+    
+    public boolean isActive(int platform, float activeRangeLower, float activeRangeUpper) {
+        return present[platform] && y[platform] >= activeRangeLower && y[platform] <= activeRangeUpper;
+    }
+    
+    public Platform getPlatform(int platform) {
+        return platforms[platform];
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    boolean hasMovement(int platform) {
+        return movementStart[platform] < movementStart[platform + 1];
+    }
+    
+    boolean isCrumbling(int platform) {
+        return crumbleStart[platform] < crumbleStart[platform + 1] && crumbling[crumbleStart[platform]];
+    }
+    
+    public static boolean hasVerticalMovement(PlatformData platformData) {
+        return platformData.getMovementData() != null &&
+                PlatformMovementSystem.hasVerticalMovement(platformData.getMovementData());
+    }
+    
+    private static int getPlatformType(String platformType) {
+        if (PlatformData.NORMAL.equals(platformType)) {
+            return Platform.NORMAL;
+        } else if (PlatformData.CRUMBLE.equals(platformType)) {
+            return Platform.CRUMBLE;
+        } else if (PlatformData.FLAME.equals(platformType)) {
+            return Platform.FLAME;
+        } else {
+            ExceptionThrower.throwException("Invalid platform type: %s", platformType);
+            return -1;
+        }
+    }
+    
+    // variant is derived from platform position, so the same rise always looks the same
+    private static int getVisualVariant(int platformType, PlatformData platformData, int startStep) {
+        int variantCount;
+        if (platformType == Platform.CRUMBLE) {
+            return 0;
+        } else if (platformType == Platform.FLAME) {
+            variantCount = ResourceNames.PLATFORM_FLAME_TEXTURE_COUNT;
+        } else {
+            variantCount = ResourceNames.PLATFORM_NORMAL_TEXTURE_COUNT;
+        }
+        
+        int hash = (startStep + platformData.getStep()) * 0x9E3779B1 + platformData.getOffset() * 0x85EBCA6B;
+        hash ^= hash >>> 16;
+        return GameUtils.getPositiveModulus(hash, variantCount);
+    }
+}
@@ -23,7 +23,7 @@
  */
 // color conversion methods taken from:
 //   http://axonflux.com/handy-rgb-to-hsl-and-rgb-to-hsv-color-model-c
-package com.turbogerm.hellhopper.game;
+package com.turbogerm.hellhopper.game.render;
 
 import com.badlogic.gdx.graphics.Color;
 import com.turbogerm.hellhopper.util.HslColor;
@@ -33,6 +33,9 @@ public final class BackgroundColorInterpolator {
     private static final int NUM_COLORS = 5;
     private static final float LIGHT_MULTIPLIER = 0.6f;
     
+    // for endless rise colors go back and forth through all stops over this height
+    private static final float ENDLESS_COLOR_CYCLE_HEIGHT = 400.0f;
+    
     private final HslColor mHsl1;
     private final HslColor mHsl2;
     private final Color mResult;
@@ -67,7 +70,7 @@ public final class BackgroundColorInterpolator {
     }
     
     public Color getBackgroundColor(float currentHeight) {
-        float colorPosition = currentHeight / mRiseHeight * mColorPositions[NUM_COLORS - 1];
+        float colorPosition = getRelativeHeight(currentHeight) * mColorPositions[NUM_COLORS - 1];
         
         if (colorPosition < mColorPositions[0]) {
             mResult.set(mColors[0]);
@@ -88,6 +91,15 @@ public final class BackgroundColorInterpolator {
         return mResult;
     }
     
+    private float getRelativeHeight(float currentHeight) {
+        if (!Float.isInfinite(mRiseHeight)) {
+            return currentHeight / mRiseHeight;
+        }
+        
+        float cyclePosition = (currentHeight / ENDLESS_COLOR_CYCLE_HEIGHT) % 2.0f;
+        return cyclePosition <= 1.0f ? cyclePosition : 2.0f - cyclePosition;
+    }
+    
     private void interpolateColor(Color c1, Color c2, float t) {
         rgbToHsl(c1.r, c1.g, c1.b, true);
         rgbToHsl(c2.r, c2.g, c2.b, false);
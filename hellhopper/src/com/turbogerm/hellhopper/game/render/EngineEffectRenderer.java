@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.render;
+
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+// engine effects are taken from a pool while the engine is on screen and returned when it leaves,
+// so their number follows the visible area and not the rise length
+final class EngineEffectRenderer {
+    
+    // level of detail caps
+    private static final int MAX_PARTICLES_PER_EFFECT = 8;
+    private static final int MAX_ACTIVE_EFFECTS = 12;
+    
+    // particles trail below the engine, the effect is kept while they can still be seen
+    private static final float VISIBLE_AREA_MARGIN = 1.5f;
+    
+    private final ParticleEffectPool mEffectPool;
+    // platforms that currently hold a pooled effect as render data
+    private final Array<Platform> mEffectPlatforms;
+    // platforms whose effect was drawn this frame, the others give their effect back
+    private final Array<Platform> mRenderedPlatforms;
+    
+    // prototype belongs to the asset manager and is left unchanged, caps are applied to a private copy
+    public EngineEffectRenderer(ParticleEffect effectPrototype) {
+        ParticleEffect effect = new ParticleEffect(effectPrototype);
+        Array<ParticleEmitter> emitters = effect.getEmitters();
+        for (int i = 0; i < emitters.size; i++) {
+            ParticleEmitter emitter = emitters.get(i);
+            // blending is switched once for all effects, an additive emitter would flush the batch twice
+            emitter.setAdditive(false);
+            emitter.setMaxParticleCount(Math.min(emitter.getMaxParticleCount(), MAX_PARTICLES_PER_EFFECT));
+        }
+        
+        mEffectPool = new ParticleEffectPool(effect, MAX_ACTIVE_EFFECTS, MAX_ACTIVE_EFFECTS);
+        mEffectPlatforms = new Array<Platform>(false, MAX_ACTIVE_EFFECTS);
+        mRenderedPlatforms = new Array<Platform>(false, MAX_ACTIVE_EFFECTS);
+    }
+    
+    public void render(SpriteBatch batch, Platform platform, float x, float y, float visibleAreaPosition,
+            float delta) {
+        
+        if (!isVisible(y, visibleAreaPosition)) {
+            return;
+        }
+        
+        PooledEffect effect = (PooledEffect) platform.getRenderData();
+        if (effect == null) {
+            if (mEffectPlatforms.size >= MAX_ACTIVE_EFFECTS) {
+                return;
+            }
+            
+            effect = mEffectPool.obtain();
+            platform.setRenderData(effect);
+            mEffectPlatforms.add(platform);
+        }
+        
+        effect.setPosition(x, y);
+        effect.draw(batch, delta);
+        mRenderedPlatforms.add(platform);
+    }
+    
+    // called once per frame after all effects are rendered; platforms that left the screen, crumbled,
+    // or were dropped from the visible platforms list with their section give their effect back
+    public void releaseHidden() {
+        for (int i = mEffectPlatforms.size - 1; i >= 0; i--) {
+            if (!mRenderedPlatforms.contains(mEffectPlatforms.get(i), true)) {
+                release(i);
+            }
+        }
+        
+        mRenderedPlatforms.clear();
+    }
+    
+    public void releaseAll() {
+        for (int i = mEffectPlatforms.size - 1; i >= 0; i--) {
+            release(i);
+        }
+        
+        mRenderedPlatforms.clear();
+    }
+    
+    private void release(int index) {
+        Platform platform = mEffectPlatforms.removeIndex(index);
+        ((PooledEffect) platform.getRenderData()).free();
+        platform.setRenderData(null);
+    }
+    
+    private static boolean isVisible(float y, float visibleAreaPosition) {
+        return y >= visibleAreaPosition - VISIBLE_AREA_MARGIN &&
+                y <= visibleAreaPosition + GameArea.GAME_AREA_HEIGHT + VISIBLE_AREA_MARGIN;
+    }
+}
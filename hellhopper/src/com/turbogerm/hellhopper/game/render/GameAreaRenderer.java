@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.render;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.RenderContext;
+import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.debug.PerformanceData;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+public final class GameAreaRenderer {
+    
+    private static final float END_LINE_HEIGHT = 0.1f;
+    
+    private final RenderContext mRenderContext;
+    private final SpriteBatch mBatch;
+    private final PerformanceData mPerformanceData;
+    
+    private final TextureRegion mCharacterTexture;
+    private final TextureRegion mEndLineTexture;
+    
+    private final PlatformRenderer mPlatformRenderer;
+    
+    private final BackgroundColorInterpolator mBackgroundColorInterpolator;
+    
+    public GameAreaRenderer(AssetManager assetManager, RenderContext renderContext) {
+        mRenderContext = renderContext;
+        mBatch = mRenderContext.getBatch();
+        mPerformanceData = new PerformanceData(mBatch);
+        
+        TextureAtlas gameAtlas = assetManager.get(ResourceNames.GAME_TEXTURE_ATLAS);
+        mCharacterTexture = gameAtlas.findRegion(ResourceNames.GAME_CHARACTER_IMAGE);
+        mEndLineTexture = gameAtlas.findRegion(ResourceNames.GAME_END_LINE_IMAGE);
+        
+        mPlatformRenderer = new PlatformRenderer(assetManager, gameAtlas);
+        
+        mBackgroundColorInterpolator = new BackgroundColorInterpolator();
+    }
+    
+    public void render(GameArea gameArea, float delta) {
+        
+        float visibleAreaPosition = gameArea.getVisibleAreaPosition();
+        mRenderContext.beginWorld(visibleAreaPosition);
+        
+        Array<Platform> visiblePlatforms = gameArea.getVisiblePlatforms();
+        for (int i = 0; i < visiblePlatforms.size; i++) {
+            mPlatformRenderer.render(mBatch, visiblePlatforms.get(i), delta);
+        }
+        
+        // all game images share the atlas texture, so only the blending change splits the batch
+        mBatch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+        for (int i = 0; i < visiblePlatforms.size; i++) {
+            mPlatformRenderer.renderEffects(mBatch, visiblePlatforms.get(i), visibleAreaPosition, delta);
+        }
+        mPlatformRenderer.releaseHiddenEffects();
+        mBatch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        
+        if (!gameArea.isRiseEndless()) {
+            mBatch.draw(mEndLineTexture, 0.0f, gameArea.getRiseHeight() - END_LINE_HEIGHT,
+                    GameArea.GAME_AREA_WIDTH, END_LINE_HEIGHT);
+        }
+        
+        Vector2 characterPosition = gameArea.getCharacter().getPosition();
+        mBatch.draw(mCharacterTexture, characterPosition.x, characterPosition.y,
+                GameCharacter.WIDTH, GameCharacter.HEIGHT);
+        
+        mRenderContext.end();
+    }
+    
+    // must be called when the game area is reset, the old platforms give back their effects
+    public void reset() {
+        mPlatformRenderer.releaseAllEffects();
+    }
+    
+    public Color getBackgroundColor(GameArea gameArea) {
+        mBackgroundColorInterpolator.setRiseHeight(gameArea.getRiseHeight());
+        return mBackgroundColorInterpolator.getBackgroundColor(gameArea.getVisibleAreaPosition());
+    }
+    
+    public PerformanceData getPerformanceData() {
+        return mPerformanceData;
+    }
+}
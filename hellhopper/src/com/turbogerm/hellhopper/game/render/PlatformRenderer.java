@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.render;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.dataaccess.PlatformData;
+import com.turbogerm.hellhopper.game.platforms.Platform;
+
+final class PlatformRenderer {
+    
+    private static final float FIRE_FRAME_DURATION = 0.15f;
+    private static final float FIRE_WIDTH = 2.0f;
+    private static final float FIRE_HEIGHT = 0.6f;
+    
+    private static final float FLAME_MIN_COLOR_VALUE = 0.4f;
+    private static final float FLAME_MAX_COLOR_VALUE = 1.0f;
+    private static final float FLAME_COLOR_VALUE_RANGE = FLAME_MAX_COLOR_VALUE - FLAME_MIN_COLOR_VALUE;
+    
+    private static final float CRATER_HEIGHT = 0.2f;
+    // indexed by jump boost power
+    private static final float[] DISCHARGE_WIDTHS;
+    private static final float[] DISCHARGE_HEIGHTS;
+    
+    private static final float ENGINE_WIDTH = 0.4f;
+    private static final float ENGINE_HEIGHT = 0.4f;
+    private static final float ENGINE_X_OFFSET = (PlatformData.PLATFORM_WIDTH - ENGINE_WIDTH) / 2.0f;
+    private static final float ENGINE_Y_OFFSET = 0.0f;
+    
+    private final TextureRegion[] mNormalTextures;
+    private final TextureRegion[] mFlameTextures;
+    private final TextureRegion mCrumbleTexture;
+    
+    private final Animation mFireAnimation;
+    
+    private final TextureRegion[] mCraterTextures;
+    private final TextureRegion[] mDischargeTextures;
+    
+    private final TextureRegion mEngineTexture;
+    private final EngineEffectRenderer mEngineEffectRenderer;
+    
+    static {
+        DISCHARGE_WIDTHS = new float[] { 0.6f, 0.9f, 1.2f };
+        DISCHARGE_HEIGHTS = new float[] { 0.5f, 0.75f, 1.0f };
+    }
+    
+    public PlatformRenderer(AssetManager assetManager, TextureAtlas gameAtlas) {
+        
+        mNormalTextures = new TextureRegion[ResourceNames.PLATFORM_NORMAL_TEXTURE_COUNT];
+        for (int i = 0; i < mNormalTextures.length; i++) {
+            mNormalTextures[i] = gameAtlas.findRegion(ResourceNames.getPlatformNormalImage(i));
+        }
+        
+        mFlameTextures = new TextureRegion[ResourceNames.PLATFORM_FLAME_TEXTURE_COUNT];
+        for (int i = 0; i < mFlameTextures.length; i++) {
+            mFlameTextures[i] = gameAtlas.findRegion(ResourceNames.getPlatformFlameImage(i));
+        }
+        
+        mCrumbleTexture = gameAtlas.findRegion(ResourceNames.PLATFORM_CRUMBLE_IMAGE);
+        
+        Array<AtlasRegion> fireAtlasRegions = gameAtlas.findRegions(ResourceNames.PLATFORM_FIRE_IMAGE);
+        mFireAnimation = new Animation(FIRE_FRAME_DURATION, fireAtlasRegions, Animation.LOOP);
+        
+        mCraterTextures = new TextureRegion[] {
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_LOW_IMAGE),
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_MEDIUM_IMAGE),
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_CRATER_HIGH_IMAGE) };
+        mDischargeTextures = new TextureRegion[] {
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_LOW_IMAGE),
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_MEDIUM_IMAGE),
+                gameAtlas.findRegion(ResourceNames.PLATFORM_JUMP_BOOST_DISCHARGE_HIGH_IMAGE) };
+        
+        mEngineTexture = gameAtlas.findRegion(ResourceNames.PLATFORM_ENGINE_IMAGE);
+        mEngineEffectRenderer = new EngineEffectRenderer((ParticleEffect) assetManager.get(ResourceNames.PARTICLE_ENGINE));
+    }
+    
+    public void render(SpriteBatch batch, Platform platform, float delta) {
+        
+        float x = platform.getX();
+        float y = platform.getY();
+        float alpha = platform.getAlpha();
+        
+        int jumpBoostCount = platform.getJumpBoostCount();
+        for (int i = 0; i < jumpBoostCount; i++) {
+            renderJumpBoost(batch, platform, i, x, y, alpha);
+        }
+        
+        switch (platform.getType()) {
+            case Platform.FLAME:
+                renderFlamePlatform(batch, platform, x, y, alpha);
+                break;
+                
+            case Platform.CRUMBLE:
+                renderPlatformTexture(batch, mCrumbleTexture, x, y, 1.0f, alpha);
+                break;
+                
+            default:
+                renderPlatformTexture(batch, mNormalTextures[platform.getVisualVariant()], x, y, 1.0f, alpha);
+                break;
+        }
+        
+        if (platform.hasMovement()) {
+            renderEngine(batch, x, y, alpha);
+        }
+    }
+    
+    // called in a separate pass with additive blending already set on the batch
+    public void renderEffects(SpriteBatch batch, Platform platform, float visibleAreaPosition, float delta) {
+        if (!platform.hasMovement()) {
+            return;
+        }
+        
+        mEngineEffectRenderer.render(batch, platform,
+                platform.getX() + ENGINE_X_OFFSET + ENGINE_WIDTH / 2.0f,
+                platform.getY() + ENGINE_Y_OFFSET + ENGINE_HEIGHT / 2.0f,
+                visibleAreaPosition, platform.isMoving() ? delta : 0.0f);
+    }
+    
+    public void releaseHiddenEffects() {
+        mEngineEffectRenderer.releaseHidden();
+    }
+    
+    public void releaseAllEffects() {
+        mEngineEffectRenderer.releaseAll();
+    }
+    
+    private void renderFlamePlatform(SpriteBatch batch, Platform platform, float x, float y, float alpha) {
+        if (platform.isFlameActive()) {
+            batch.draw(mFireAnimation.getKeyFrame(platform.getFlameActiveElapsed()),
+                    x, y + PlatformData.PLATFORM_HEIGHT,
+                    FIRE_WIDTH, FIRE_HEIGHT);
+        }
+        
+        float colorValue = FLAME_MIN_COLOR_VALUE + platform.getFlameIntensity() * FLAME_COLOR_VALUE_RANGE;
+        renderPlatformTexture(batch, mFlameTextures[platform.getVisualVariant()], x, y, colorValue, alpha);
+    }
+    
+    // crater sits on top of the platform
+    private void renderJumpBoost(SpriteBatch batch, Platform platform, int jumpBoost,
+            float platformX, float platformY, float alpha) {
+        
+        int power = platform.getJumpBoostPower(jumpBoost);
+        float craterX = platformX + platform.getJumpBoostCraterOffsetX(jumpBoost);
+        float craterY = platformY + PlatformData.PLATFORM_HEIGHT;
+        float craterWidth = platform.getJumpBoostCraterWidth(jumpBoost);
+        
+        if (platform.isJumpBoostDischarging(jumpBoost)) {
+            float dischargeWidth = DISCHARGE_WIDTHS[power];
+            float dischargeX = craterX + (craterWidth - dischargeWidth) / 2.0f;
+            float dischargeY = craterY + CRATER_HEIGHT;
+            
+            batch.setColor(1.0f, 1.0f, 1.0f, 1.0f - platform.getJumpBoostDischargeElapsedFraction(jumpBoost));
+            batch.draw(mDischargeTextures[power], dischargeX, dischargeY, dischargeWidth, DISCHARGE_HEIGHTS[power]);
+        }
+        
+        batch.setColor(1.0f, 1.0f, 1.0f, alpha);
+        batch.draw(mCraterTextures[power], craterX, craterY, craterWidth, CRATER_HEIGHT);
+        batch.setColor(Color.WHITE);
+    }
+    
+    private void renderEngine(SpriteBatch batch, float x, float y, float alpha) {
+        batch.setColor(1.0f, 1.0f, 1.0f, alpha);
+        batch.draw(mEngineTexture, x + ENGINE_X_OFFSET, y + ENGINE_Y_OFFSET,
+                ENGINE_WIDTH, ENGINE_HEIGHT);
+        batch.setColor(Color.WHITE);
+    }
+    
+    private static void renderPlatformTexture(SpriteBatch batch, TextureRegion texture, float x, float y,
+            float colorValue, float alpha) {
+        
+        batch.setColor(colorValue, colorValue, colorValue, alpha);
+        batch.draw(texture, x, y, PlatformData.PLATFORM_WIDTH, PlatformData.PLATFORM_HEIGHT);
+        batch.setColor(Color.WHITE);
+    }
+}
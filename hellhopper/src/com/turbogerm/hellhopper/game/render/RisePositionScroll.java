@@ -21,13 +21,15 @@
  * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  */
-package com.turbogerm.hellhopper.game;
+package com.turbogerm.hellhopper.game.render;
 
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.turbogerm.hellhopper.HellHopper;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.game.GameArea;
 
 public final class RisePositionScroll {
     
@@ -38,28 +40,44 @@ public final class RisePositionScroll {
     private static final float MIN_POSITION_SCROLL_BOX_SIZE = 5.0f;
     private static final float POSITION_SCROLL_END_LINE_HEIGHT = 4.0f;
     
-    private final Texture mPositionScrollLineTexture;
-    private final Texture mPositionScrollLineAboveTexture;
-    private final Texture mPositionScrollBoxTexture;
-    private final Texture mPositionScrollEndLineTexture;
+    // for endless rise position scroll shows position inside current lap of this height
+    private static final float ENDLESS_POSITION_SCROLL_LAP_HEIGHT = 100.0f;
+    
+    private final TextureRegion mPositionScrollLineTexture;
+    private final TextureRegion mPositionScrollLineAboveTexture;
+    private final TextureRegion mPositionScrollBoxTexture;
+    private final TextureRegion mPositionScrollEndLineTexture;
     
     private float mRiseHeight;
+    private boolean mIsEndless;
     private float mEffectivePositionScrollLineHeight;
     
     public RisePositionScroll(AssetManager assetManager) {
-        mPositionScrollLineTexture = assetManager.get(ResourceNames.GAME_POSITION_SCROLL_LINE_TEXTURE);
-        mPositionScrollLineAboveTexture = assetManager.get(ResourceNames.GAME_POSITION_SCROLL_LINE_ABOVE_TEXTURE);
-        mPositionScrollBoxTexture = assetManager.get(ResourceNames.GAME_POSITION_SCROLL_BOX_TEXTURE);
-        mPositionScrollEndLineTexture = assetManager.get(ResourceNames.GAME_POSITION_SCROLL_END_LINE_TEXTURE);
+        TextureAtlas gameAtlas = assetManager.get(ResourceNames.GAME_TEXTURE_ATLAS);
+        mPositionScrollLineTexture = gameAtlas.findRegion(ResourceNames.GAME_POSITION_SCROLL_LINE_IMAGE);
+        mPositionScrollLineAboveTexture = gameAtlas.findRegion(ResourceNames.GAME_POSITION_SCROLL_LINE_ABOVE_IMAGE);
+        mPositionScrollBoxTexture = gameAtlas.findRegion(ResourceNames.GAME_POSITION_SCROLL_BOX_IMAGE);
+        mPositionScrollEndLineTexture = gameAtlas.findRegion(ResourceNames.GAME_POSITION_SCROLL_END_LINE_IMAGE);
     }
     
     public void setRiseHeight(float riseHeight) {
+        mIsEndless = Float.isInfinite(riseHeight);
+        if (mIsEndless) {
+            mRiseHeight = ENDLESS_POSITION_SCROLL_LAP_HEIGHT;
+            mEffectivePositionScrollLineHeight = POSITION_SCROLL_LINE_HEIGHT;
+            return;
+        }
+        
         mRiseHeight = riseHeight;
         mEffectivePositionScrollLineHeight = (mRiseHeight / (mRiseHeight + GameArea.GAME_AREA_HEIGHT)) *
                 POSITION_SCROLL_LINE_HEIGHT;
     }
     
     public void render(SpriteBatch batch, float visibleAreaPosition) {
+        if (mIsEndless) {
+            visibleAreaPosition %= mRiseHeight;
+        }
+        
         batch.draw(mPositionScrollLineTexture,
                 POSITION_SCROLL_LINE_X, POSITION_SCROLL_LINE_Y,
                 POSITION_SCROLL_LINE_WIDTH, mEffectivePositionScrollLineHeight);
@@ -77,10 +95,12 @@ public final class RisePositionScroll {
                 POSITION_SCROLL_LINE_X, positionScrollBoxY,
                 POSITION_SCROLL_LINE_WIDTH, positionScrollBoxHeight);
         
-        float positionScrollEndLineY = POSITION_SCROLL_LINE_Y + mEffectivePositionScrollLineHeight -
-                POSITION_SCROLL_END_LINE_HEIGHT;
-        batch.draw(mPositionScrollEndLineTexture,
-                POSITION_SCROLL_LINE_X, positionScrollEndLineY,
-                POSITION_SCROLL_LINE_WIDTH, POSITION_SCROLL_END_LINE_HEIGHT);
+        if (!mIsEndless) {
+            float positionScrollEndLineY = POSITION_SCROLL_LINE_Y + mEffectivePositionScrollLineHeight -
+                    POSITION_SCROLL_END_LINE_HEIGHT;
+            batch.draw(mPositionScrollEndLineTexture,
+                    POSITION_SCROLL_LINE_X, positionScrollEndLineY,
+                    POSITION_SCROLL_LINE_WIDTH, POSITION_SCROLL_END_LINE_HEIGHT);
+        }
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.replay;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.hellhopper.game.GameArea;
+import com.turbogerm.hellhopper.util.Logger;
+
+// recorded climb: rise seed and type, delta encoded frame stream (see ReplayRecorder)
+// and the game area end state, used to check that playback was bit exact
+public final class Replay {
+    
+    public static final String LAST_REPLAY_FILE_NAME = "replays/last.hhreplay";
+    
+    private static final int FILE_MAGIC = 0x48485250; // "HHRP"
+    private static final int FILE_VERSION = 3;
+    // delta and horizontal speed, each a variable length int of at most 5 bytes
+    private static final int MAX_FRAME_DATA_SIZE = 10;
+    
+    private final long mRiseSeed;
+    private final boolean mIsEndlessRise;
+    private final int mFrameCount;
+    private final byte[] mFrameData;
+    
+    private final int mEndScore;
+    private final float mEndCharPositionX;
+    private final float mEndCharPositionY;
+    private final float mEndVisibleAreaPosition;
+    
+    Replay(long riseSeed, boolean isEndlessRise, int frameCount, byte[] frameData,
+            int endScore, float endCharPositionX, float endCharPositionY, float endVisibleAreaPosition) {
+        mRiseSeed = riseSeed;
+        mIsEndlessRise = isEndlessRise;
+        mFrameCount = frameCount;
+        mFrameData = frameData;
+        
+        mEndScore = endScore;
+        mEndCharPositionX = endCharPositionX;
+        mEndCharPositionY = endCharPositionY;
+        mEndVisibleAreaPosition = endVisibleAreaPosition;
+    }
+    
+    public static Replay read(FileHandle fileHandle) {
+        DataInputStream input = new DataInputStream(fileHandle.read(1024));
+        try {
+            if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_VERSION) {
+                Logger.error("Invalid replay file: %s", fileHandle.path());
+                return null;
+            }
+            
+            long riseSeed = input.readLong();
+            boolean isEndlessRise = input.readBoolean();
+            int endScore = input.readInt();
+            float endCharPositionX = input.readFloat();
+            float endCharPositionY = input.readFloat();
+            float endVisibleAreaPosition = input.readFloat();
+            int frameCount = input.readInt();
+            int frameDataSize = input.readInt();
+            if (frameCount < 0 || frameDataSize < 0 ||
+                    frameDataSize > (long) frameCount * MAX_FRAME_DATA_SIZE) {
+                Logger.error("Invalid replay frame count %d or data size %d: %s",
+                        frameCount, frameDataSize, fileHandle.path());
+                return null;
+            }
+            
+            byte[] frameData = new byte[frameDataSize];
+            input.readFully(frameData);
+            
+            if (!isFrameDataValid(frameData, frameCount)) {
+                Logger.error("Invalid replay frame data: %s", fileHandle.path());
+                return null;
+            }
+            
+            return new Replay(riseSeed, isEndlessRise, frameCount, frameData,
+                    endScore, endCharPositionX, endCharPositionY, endVisibleAreaPosition);
+        } catch (EOFException e) {
+            Logger.error("Truncated replay file: %s", fileHandle.path());
+            return null;
+        } catch (IOException e) {
+            Logger.error(e.getMessage());
+            return null;
+        } finally {
+            closeQuietly(input);
+        }
+    }
+    
+    public boolean write(FileHandle fileHandle) {
+        DataOutputStream output = new DataOutputStream(fileHandle.write(false));
+        try {
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            
+            output.writeLong(mRiseSeed);
+            output.writeBoolean(mIsEndlessRise);
+            output.writeInt(mEndScore);
+            output.writeFloat(mEndCharPositionX);
+            output.writeFloat(mEndCharPositionY);
+            output.writeFloat(mEndVisibleAreaPosition);
+            output.writeInt(mFrameCount);
+            output.writeInt(mFrameData.length);
+            output.write(mFrameData);
+            
+            return true;
+        } catch (IOException e) {
+            Logger.error(e.getMessage());
+            return false;
+        } finally {
+            closeQuietly(output);
+        }
+    }
+    
+    public ReplayPlayer createPlayer() {
+        return new ReplayPlayer(mFrameData, mFrameCount);
+    }
+    
+    // compares raw bits, any divergence in the simulation shows up as a mismatch
+    public boolean isEndStateMatching(GameArea gameArea) {
+        Vector2 charPosition = gameArea.getCharacter().getPosition();
+        return gameArea.getScore() == mEndScore &&
+                Float.floatToIntBits(charPosition.x) == Float.floatToIntBits(mEndCharPositionX) &&
+                Float.floatToIntBits(charPosition.y) == Float.floatToIntBits(mEndCharPositionY) &&
+                Float.floatToIntBits(gameArea.getVisibleAreaPosition()) ==
+                Float.floatToIntBits(mEndVisibleAreaPosition);
+    }
+    
+    public long getRiseSeed() {
+        return mRiseSeed;
+    }
+    
+    public boolean isEndlessRise() {
+        return mIsEndlessRise;
+    }
+    
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+    
+    public int getFrameDataSize() {
+        return mFrameData.length;
+    }
+    
+    public int getEndScore() {
+        return mEndScore;
+    }
+    
+    // decodes the whole stream once, so playback cannot run out of data halfway
+    private static boolean isFrameDataValid(byte[] frameData, int frameCount) {
+        ReplayPlayer player = new ReplayPlayer(frameData, frameCount);
+        while (player.nextFrame()) {
+        }
+        
+        return player.isAtDataEnd();
+    }
+    
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.replay;
+
+// decodes the frame stream written by ReplayRecorder, one GameArea.update call at a time
+public final class ReplayPlayer {
+    
+    // a 32 bit value takes at most 5 bytes, the last one holds the top 4 bits
+    private static final int MAX_VAR_INT_SIZE = 5;
+    
+    private final byte[] mFrameData;
+    private final int mFrameCount;
+    
+    private int mFrameIndex;
+    private int mDataPosition;
+    
+    private int mDeltaBits;
+    private int mHorizontalSpeedBits;
+    
+    private boolean mIsDataInvalid;
+    
+    ReplayPlayer(byte[] frameData, int frameCount) {
+        mFrameData = frameData;
+        mFrameCount = frameCount;
+        
+        mFrameIndex = 0;
+        mDataPosition = 0;
+        mDeltaBits = 0;
+        mHorizontalSpeedBits = 0;
+        mIsDataInvalid = false;
+    }
+    
+    // returns false at the end of the replay, and also when the frame data runs out
+    // or is malformed, in which case the frame index stays short of the frame count
+    public boolean nextFrame() {
+        if (mFrameIndex >= mFrameCount || mIsDataInvalid) {
+            return false;
+        }
+        
+        int deltaBitsChange = decodeZigZag(readVarInt());
+        int horizontalSpeedBitsChange = decodeZigZag(readVarInt());
+        if (mIsDataInvalid) {
+            return false;
+        }
+        
+        mDeltaBits += deltaBitsChange;
+        mHorizontalSpeedBits += horizontalSpeedBitsChange;
+        mFrameIndex++;
+        
+        return true;
+    }
+    
+    public float getDelta() {
+        return Float.intBitsToFloat(mDeltaBits);
+    }
+    
+    public float getHorizontalSpeed() {
+        return Float.intBitsToFloat(mHorizontalSpeedBits);
+    }
+    
+    public int getFrameIndex() {
+        return mFrameIndex;
+    }
+    
+    // true when all frames were decoded and they used up exactly the whole frame data
+    boolean isAtDataEnd() {
+        return !mIsDataInvalid && mFrameIndex == mFrameCount && mDataPosition == mFrameData.length;
+    }
+    
+    private int readVarInt() {
+        int value = 0;
+        for (int i = 0; i < MAX_VAR_INT_SIZE; i++) {
+            if (mDataPosition >= mFrameData.length) {
+                break;
+            }
+            
+            int b = mFrameData[mDataPosition++];
+            if (i == MAX_VAR_INT_SIZE - 1 && (b & 0xf0) != 0) {
+                break;
+            }
+            
+            value |= (b & 0x7f) << (i * 7);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        
+        mIsDataInvalid = true;
+        return 0;
+    }
+    
+    private static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.game.replay;
+
+import java.io.ByteArrayOutputStream;
+
+import com.badlogic.gdx.math.Vector2;
+import com.turbogerm.hellhopper.game.GameArea;
+
+// records the arguments of every GameArea.update call;
+// each value is stored as the difference of its raw float bits to the previous frame's value,
+// zigzag and varint encoded, so unchanged input takes one byte and nearby deltas take two or three
+public final class ReplayRecorder {
+    
+    private static final int FRAME_DATA_INITIAL_CAPACITY = 16 * 1024;
+    
+    private final ByteArrayOutputStream mFrameData;
+    
+    private long mRiseSeed;
+    private boolean mIsEndlessRise;
+    private int mFrameCount;
+    
+    private int mPreviousDeltaBits;
+    private int mPreviousHorizontalSpeedBits;
+    
+    public ReplayRecorder() {
+        mFrameData = new ByteArrayOutputStream(FRAME_DATA_INITIAL_CAPACITY);
+    }
+    
+    public void start(long riseSeed, boolean isEndlessRise) {
+        mRiseSeed = riseSeed;
+        mIsEndlessRise = isEndlessRise;
+        mFrameCount = 0;
+        
+        mFrameData.reset();
+        mPreviousDeltaBits = 0;
+        mPreviousHorizontalSpeedBits = 0;
+    }
+    
+    public void recordFrame(float delta, float horizontalSpeed) {
+        int deltaBits = Float.floatToRawIntBits(delta);
+        writeVarInt(encodeZigZag(deltaBits - mPreviousDeltaBits));
+        mPreviousDeltaBits = deltaBits;
+        
+        int horizontalSpeedBits = Float.floatToRawIntBits(horizontalSpeed);
+        writeVarInt(encodeZigZag(horizontalSpeedBits - mPreviousHorizontalSpeedBits));
+        mPreviousHorizontalSpeedBits = horizontalSpeedBits;
+        
+        mFrameCount++;
+    }
+    
+    public Replay finish(GameArea gameArea) {
+        Vector2 charPosition = gameArea.getCharacter().getPosition();
+        return new Replay(mRiseSeed, mIsEndlessRise, mFrameCount, mFrameData.toByteArray(),
+                gameArea.getScore(), charPosition.x, charPosition.y, gameArea.getVisibleAreaPosition());
+    }
+    
+    private void writeVarInt(int value) {
+        while ((value & ~0x7f) != 0) {
+            mFrameData.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        mFrameData.write(value);
+    }
+    
+    private static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+}
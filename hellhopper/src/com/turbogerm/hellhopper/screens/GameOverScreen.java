@@ -32,15 +32,20 @@ import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
 
 public final class GameOverScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = { Resources.BUNDLE_FONTS, Resources.BUNDLE_GUI };
+    
     private static final int NAME_MAX_LENGTH = 20;
     
     private final Label mGameOverLabel;
@@ -48,7 +53,7 @@ public final class GameOverScreen extends ScreenBase {
     private final TextField mNameTextField;
     
     public GameOverScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mGuiStage.addListener(getStageInputListener(this));
         
@@ -91,6 +96,7 @@ public final class GameOverScreen extends ScreenBase {
         final float buttonHeight = 80.0f;
         final float buttonX = (HellHopper.VIEWPORT_WIDTH - buttonWidth) / 2.0f;
         final float buttonY = buttonX;
+        final float buttonPadding = 40.0f;
         
         TextureRegion continueUpTextureRegion = new TextureRegion(
                 (Texture) mAssetManager.get(ResourceNames.GUI_BUTTON_CONTINUE_UP_TEXTURE));
@@ -102,12 +108,22 @@ public final class GameOverScreen extends ScreenBase {
         continueButton.setBounds(buttonX, buttonY, buttonWidth, buttonHeight);
         continueButton.addListener(getContinueInputListener(continueButton));
         mGuiStage.addActor(continueButton);
+        
+        TextButtonStyle replayTextButtonStyle = new TextButtonStyle(mGuiSkin.get(TextButtonStyle.class));
+        replayTextButtonStyle.font = mGuiSkin.getFont("xxxl-font");
+        
+        TextButton replayButton = new TextButton("Replay", replayTextButtonStyle);
+        replayButton.setBounds(buttonX, buttonY + buttonHeight + buttonPadding, buttonWidth, buttonHeight);
+        replayButton.addListener(getReplayInputListener(replayButton));
+        mGuiStage.addActor(replayButton);
     }
     
     @Override
     public void show() {
         super.show();
         
+        mGame.getRisePreGenerator().requestRise(mGameData.getRiseSeed());
+        
         int score = mGameData.getScore();
         
         String gameOverText = String.format("Game over!\nYour score is:\n%d", score);
@@ -140,6 +156,25 @@ public final class GameOverScreen extends ScreenBase {
         };
     }
     
+    // watching the replay comes back here, the score is only entered on continue
+    private InputListener getReplayInputListener(final Actor actor) {
+        return new InputListener() {
+            
+            @Override
+            public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+                return true;
+            }
+            
+            @Override
+            public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
+                if (actor.hit(x, y, true) != null) {
+                    mGameData.setReplayReturnScreenName(HellHopper.GAME_OVER_SCREEN_NAME);
+                    mGame.setScreen(HellHopper.PLAY_SCREEN_NAME);
+                }
+            }
+        };
+    }
+    
     private InputListener getContinueInputListener(final Actor actor) {
         return new InputListener() {
             
@@ -39,10 +39,13 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
 import com.turbogerm.hellhopper.HighScoreData;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
 
 public final class HighScoreScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = { Resources.BUNDLE_FONTS, Resources.BUNDLE_GUI };
+    
     private static final float HIGH_SCORE_PADDING = 10.0f;
     private static final float HIGH_SCORE_HEIGHT = 35.0f;
     private static final float HIGH_SCORE_INDEX_WIDTH = 30.0f;
@@ -56,7 +59,7 @@ public final class HighScoreScreen extends ScreenBase {
             HIGH_SCORE_NAME_X + HIGH_SCORE_NAME_WIDTH + HIGH_SCORE_PADDING;
     
     public HighScoreScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mClearColor = Color.DARK_GRAY;
         
@@ -113,6 +116,11 @@ public final class HighScoreScreen extends ScreenBase {
         mGuiStage.addActor(backButton);
     }
     
+    @Override
+    public boolean isDisposedOnHide() {
+        return true;
+    }
+    
     private static InputListener getStageInputListener(final HighScoreScreen screen) {
         
         return new InputListener() {
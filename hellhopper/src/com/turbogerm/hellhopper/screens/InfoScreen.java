@@ -34,12 +34,15 @@ import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
 
 public final class InfoScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = { Resources.BUNDLE_FONTS, Resources.BUNDLE_GUI };
+    
     public InfoScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mClearColor = Color.DARK_GRAY;
         
@@ -206,6 +209,11 @@ public final class InfoScreen extends ScreenBase {
         mGuiStage.addActor(backButton);
     }
     
+    @Override
+    public boolean isDisposedOnHide() {
+        return true;
+    }
+    
     private static InputListener getStageInputListener(final InfoScreen screen) {
         
         return new InputListener() {
@@ -25,24 +25,30 @@ package com.turbogerm.hellhopper.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
+import com.turbogerm.hellhopper.game.replay.Replay;
 
 public final class MainMenuScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = { Resources.BUNDLE_SPLASH, Resources.BUNDLE_FONTS, Resources.BUNDLE_GUI };
+    
     private final Texture mBackgroundTexture;
     
     public MainMenuScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mGuiStage.addListener(getStageInputListener());
         
@@ -92,13 +98,27 @@ public final class MainMenuScreen extends ScreenBase {
         infoButton.setBounds(buttonX, firstButtonY - 2.0f * buttonVerticalStride, buttonWidth, buttonHeight);
         infoButton.addListener(getInfoInputListener(infoButton));
         mGuiStage.addActor(infoButton);
+        
+        TextButton endlessButton = new TextButton("Endless", menuTextButtonStyle);
+        endlessButton.setBounds(buttonX, firstButtonY - 3.0f * buttonVerticalStride, buttonWidth, buttonHeight);
+        endlessButton.addListener(getEndlessInputListener(endlessButton));
+        mGuiStage.addActor(endlessButton);
+    }
+    
+    @Override
+    public void show() {
+        super.show();
+        
+        mGame.getRisePreGenerator().requestRise(mGameData.getRiseSeed());
+        // gameplay assets may have been unloaded while the app was in background
+        mGame.preloadScreen(HellHopper.PLAY_SCREEN_NAME);
     }
     
     @Override
     public void renderImpl(float delta) {
-        mBatch.begin();
+        mRenderContext.beginGui();
         mBatch.draw(mBackgroundTexture, 0.0f, 0.0f, HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT);
-        mBatch.end();
+        mRenderContext.end();
     }
     
     private InputListener getStageInputListener() {
@@ -109,6 +129,9 @@ public final class MainMenuScreen extends ScreenBase {
                 if (keycode == Keys.ESCAPE || keycode == Keys.BACK) {
                     Gdx.app.exit();
                     return true;
+                } else if (keycode == Keys.R) {
+                    playLastReplay();
+                    return true;
                 }
                 
                 return false;
@@ -116,6 +139,24 @@ public final class MainMenuScreen extends ScreenBase {
         };
     }
     
+    // replays the last recorded climb, which is kept on disk between sessions
+    private void playLastReplay() {
+        if (mGameData.getLastReplay() == null) {
+            FileHandle replayFile = Gdx.files.local(Replay.LAST_REPLAY_FILE_NAME);
+            if (!replayFile.exists()) {
+                return;
+            }
+            
+            mGameData.setLastReplay(Replay.read(replayFile));
+            if (mGameData.getLastReplay() == null) {
+                return;
+            }
+        }
+        
+        mGameData.setReplayReturnScreenName(HellHopper.MAIN_MENU_SCREEN_NAME);
+        mGame.setScreen(HellHopper.PLAY_SCREEN_NAME);
+    }
+    
     private InputListener getStartInputListener(final Actor actor) {
         return new InputListener() {
             
@@ -127,6 +168,25 @@ public final class MainMenuScreen extends ScreenBase {
             @Override
             public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
                 if (actor.hit(x, y, true) != null) {
+                    mGameData.setEndlessRise(false);
+                    mGame.setScreen(HellHopper.PLAY_SCREEN_NAME);
+                }
+            }
+        };
+    }
+    
+    private InputListener getEndlessInputListener(final Actor actor) {
+        return new InputListener() {
+            
+            @Override
+            public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+                return true;
+            }
+            
+            @Override
+            public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
+                if (actor.hit(x, y, true) != null) {
+                    mGameData.setEndlessRise(true);
                     mGame.setScreen(HellHopper.PLAY_SCREEN_NAME);
                 }
             }
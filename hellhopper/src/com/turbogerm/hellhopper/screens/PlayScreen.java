@@ -23,6 +23,7 @@
  */
 package com.turbogerm.hellhopper.screens;
 
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.graphics.Color;
@@ -39,17 +40,45 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
+import com.turbogerm.hellhopper.debug.FrameProfiler;
 import com.turbogerm.hellhopper.debug.PerformanceData;
 import com.turbogerm.hellhopper.game.GameArea;
-import com.turbogerm.hellhopper.game.RisePositionScroll;
+import com.turbogerm.hellhopper.game.GameCharacter;
+import com.turbogerm.hellhopper.game.generator.RiseGenerator;
+import com.turbogerm.hellhopper.game.generator.RiseSectionSource;
+import com.turbogerm.hellhopper.game.render.GameAreaRenderer;
+import com.turbogerm.hellhopper.game.render.RisePositionScroll;
+import com.turbogerm.hellhopper.game.replay.Replay;
+import com.turbogerm.hellhopper.game.replay.ReplayPlayer;
+import com.turbogerm.hellhopper.game.replay.ReplayRecorder;
+import com.turbogerm.hellhopper.util.Logger;
+import com.turbogerm.hellhopper.util.SeededRandom;
 
 public final class PlayScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = {
+            Resources.BUNDLE_FONTS, Resources.BUNDLE_GUI, Resources.BUNDLE_GAME_WORLD, Resources.BUNDLE_PARTICLES };
+    
+    private static final float ACCELEROMETER_SPEED_MULTIPLIER = 3.75f;
+    
+    private static final String PROFILE_CSV_FILE_NAME = "profiles/frame-profile.csv";
+    private static final String PROFILE_JSON_FILE_NAME = "profiles/frame-profile.json";
+    private static final float PROFILER_REFRESH_INTERVAL = 1.0f;
+    
     private final GameArea mGameArea;
+    private final GameAreaRenderer mGameAreaRenderer;
+    
+    private final ReplayRecorder mReplayRecorder;
+    private Replay mPlaybackReplay;
+    private ReplayPlayer mReplayPlayer;
     
     private final Label mScoreLabel;
+    private final StringBuilder mScoreText;
+    private int mDisplayedScore;
     
     private ImageButton mPlayPauseButton;
     private ImageButtonStyle mPlayButtonStyle;
@@ -60,16 +89,23 @@ public final class PlayScreen extends ScreenBase {
     private final Label mPerformanceLabel;
     long startTime = 0l;
     
+    private final FrameProfiler mFrameProfiler;
+    private final Label mProfilerLabel;
+    private float mProfilerRefreshCountdown;
+    
     private final RisePositionScroll mRisePositionScroll;
     
     public PlayScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mClearColor = Color.BLACK;
         
         mGuiStage.addListener(getStageInputListener());
         
-        mGameArea = new GameArea(mAssetManager);
+        mGameArea = new GameArea();
+        mGameAreaRenderer = new GameAreaRenderer(mAssetManager, mRenderContext);
+        
+        mReplayRecorder = new ReplayRecorder();
         
         // labels
         LabelStyle labelStyle = new LabelStyle(mGuiSkin.get(LabelStyle.class));
@@ -85,6 +121,7 @@ public final class PlayScreen extends ScreenBase {
         mScoreLabel.setStyle(labelStyle);
         mScoreLabel.setAlignment(Align.right);
         mGuiStage.addActor(mScoreLabel);
+        mScoreText = new StringBuilder();
         
         createPlayPauseButton();
         mGuiStage.addActor(mPlayPauseButton);
@@ -98,13 +135,52 @@ public final class PlayScreen extends ScreenBase {
         mPerformanceLabel.setAlignment(Align.left);
         mGuiStage.addActor(mPerformanceLabel);
         
+        mFrameProfiler = new FrameProfiler();
+        mGameArea.setProfiler(mFrameProfiler);
+        
+        final float profilerLabelWidth = 200.0f;
+        final float profilerLabelHeight = 140.0f;
+        final float profilerLabelY = HellHopper.VIEWPORT_HEIGHT - 60.0f - profilerLabelHeight;
+        mProfilerLabel = new Label("", mGuiSkin);
+        mProfilerLabel.setBounds(0.0f, profilerLabelY, profilerLabelWidth, profilerLabelHeight);
+        mProfilerLabel.setStyle(fpsLabelStyle);
+        mProfilerLabel.setAlignment(Align.top | Align.left);
+        mProfilerLabel.setVisible(false);
+        mGuiStage.addActor(mProfilerLabel);
+        
         mRisePositionScroll = new RisePositionScroll(mAssetManager);
     }
     
     @Override
     public void show() {
         super.show();
-        mGameArea.reset();
+        
+        if (mGameData.isReplayPlayback()) {
+            mPlaybackReplay = mGameData.getLastReplay();
+            mReplayPlayer = mPlaybackReplay.createPlayer();
+            
+            long riseSeed = mPlaybackReplay.getRiseSeed();
+            RiseSectionSource riseSectionSource = mPlaybackReplay.isEndlessRise() ?
+                    RiseGenerator.generateEndless(riseSeed) : RiseGenerator.generate(riseSeed);
+            mGameArea.reset(riseSectionSource);
+        } else {
+            mPlaybackReplay = null;
+            mReplayPlayer = null;
+            
+            long riseSeed = mGameData.getRiseSeed();
+            boolean isEndlessRise = mGameData.isEndlessRise();
+            RiseSectionSource riseSectionSource = isEndlessRise ?
+                    RiseGenerator.generateEndless(riseSeed) : mGame.getRisePreGenerator().obtainRise(riseSeed);
+            mGameArea.reset(riseSectionSource);
+            mReplayRecorder.start(riseSeed, isEndlessRise);
+            
+            // next game gets a new rise
+            mGameData.setRiseSeed(SeededRandom.createSeed());
+        }
+        
+        mGameAreaRenderer.reset();
+        mFrameProfiler.reset();
+        mDisplayedScore = -1;
         setPaused(false);
     }
     
@@ -113,52 +189,91 @@ public final class PlayScreen extends ScreenBase {
         renderImpl(delta);
         
         mGuiStage.act(delta);
+        mFrameProfiler.begin(FrameProfiler.DRAW_GUI_STAGE);
         mGuiStage.draw();
+        mFrameProfiler.end(FrameProfiler.DRAW_GUI_STAGE);
+        
+        // paused frames would only dilute the update phases
+        if (!mIsPaused) {
+            mFrameProfiler.endFrame();
+        }
     }
     
     @Override
     public void renderImpl(float delta) {
         
         if (mGameArea.isGameOver()) {
-            mGameData.setScore(mGameArea.getScore());
-            mGame.setScreen(HellHopper.GAME_OVER_SCREEN_NAME);
-        }
-        
-        if (!mIsPaused) {
-            mGameArea.update(delta);
+            if (mReplayPlayer != null) {
+                mGame.setScreen(mGameData.getReplayReturnScreenName());
+            } else {
+                mGameData.setScore(mGameArea.getScore());
+                mGame.setScreen(HellHopper.GAME_OVER_SCREEN_NAME);
+            }
+        } else if (!mIsPaused) {
+            updateGameArea(delta);
         }
         
-        mClearColor = mGameArea.getBackgroundColor();
+        mClearColor = mGameAreaRenderer.getBackgroundColor(mGameArea);
         Gdx.gl.glClearColor(mClearColor.r, mClearColor.g, mClearColor.b, mClearColor.a);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         
-        mScoreLabel.setText(String.valueOf(mGameArea.getScore()));
+        // label text is only rebuilt when the score changes, without creating a string
+        int score = mGameArea.getScore();
+        if (score != mDisplayedScore) {
+            mScoreText.setLength(0);
+            mScoreText.append(score);
+            mScoreLabel.setText(mScoreText);
+            mDisplayedScore = score;
+        }
         
         // mBatch.begin();
         // mBatch.draw(mBackgroundTexture, 0.0f, 0.0f, SuchyBlocks.VIEWPORT_WIDTH, SuchyBlocks.VIEWPORT_HEIGHT);
         // mBatch.end();
         
         // if (!mIsPaused) {
-        mGameArea.render(delta);
+        mFrameProfiler.begin(FrameProfiler.RENDER_GAME_AREA);
+        mGameAreaRenderer.render(mGameArea, delta);
+        mFrameProfiler.end(FrameProfiler.RENDER_GAME_AREA);
         // }
         
-        mBatch.begin();
-        mRisePositionScroll.setRiseHeight(mGameArea.getRiseHeight());
-        mRisePositionScroll.render(mBatch, mGameArea.getVisibleAreaPosition());
-        mBatch.end();
-        
         // TODO: remove, only for testing
+        // read before the shared batch is begun again, so the counts are those of the game area
         if (System.currentTimeMillis() - startTime > 1000) {
-            PerformanceData performanceData = mGameArea.getPerformanceData();
+            PerformanceData performanceData = mGameAreaRenderer.getPerformanceData();
             performanceData.update();
-            mPerformanceLabel.setText(performanceData.toString());
+            mPerformanceLabel.setText(performanceData.getText());
             startTime = System.currentTimeMillis();
         }
+        
+        mProfilerRefreshCountdown -= delta;
+        if (mProfilerRefreshCountdown <= 0.0f) {
+            if (mProfilerLabel.isVisible()) {
+                mProfilerLabel.setText(mFrameProfiler.getSummary());
+            }
+            mProfilerRefreshCountdown = PROFILER_REFRESH_INTERVAL;
+        }
+        
+        mRenderContext.beginGui();
+        mRisePositionScroll.setRiseHeight(mGameArea.getRiseHeight());
+        mRisePositionScroll.render(mBatch, mGameArea.getVisibleAreaPosition());
+        mRenderContext.end();
     }
     
     @Override
     public void hide() {
         super.hide();
+        
+        if (mReplayPlayer != null) {
+            boolean isMatching = mReplayPlayer.getFrameIndex() == mPlaybackReplay.getFrameCount() &&
+                    mPlaybackReplay.isEndStateMatching(mGameArea);
+            Logger.info("Replay played %d/%d frames, end state %s", mReplayPlayer.getFrameIndex(),
+                    mPlaybackReplay.getFrameCount(), isMatching ? "matches" : "does not match");
+            mGameData.setReplayReturnScreenName(null);
+        } else {
+            Replay replay = mReplayRecorder.finish(mGameArea);
+            replay.write(Gdx.files.local(Replay.LAST_REPLAY_FILE_NAME));
+            mGameData.setLastReplay(replay);
+        }
     }
     
     @Override
@@ -170,9 +285,36 @@ public final class PlayScreen extends ScreenBase {
     public void resume() {
     }
     
-    @Override
-    public void dispose() {
-        super.dispose();
+    // in playback the recorded frame replaces both the frame delta and the input,
+    // so the climb runs exactly as recorded regardless of the current frame rate
+    private void updateGameArea(float delta) {
+        if (mReplayPlayer != null) {
+            if (mReplayPlayer.nextFrame()) {
+                mGameArea.update(mReplayPlayer.getDelta(), mReplayPlayer.getHorizontalSpeed());
+            } else {
+                mGame.setScreen(mGameData.getReplayReturnScreenName());
+            }
+        } else {
+            float horizontalSpeed = getHorizontalSpeed();
+            mReplayRecorder.recordFrame(delta, horizontalSpeed);
+            mGameArea.update(delta, horizontalSpeed);
+        }
+    }
+    
+    private static float getHorizontalSpeed() {
+        if (Gdx.app.getType() == ApplicationType.Desktop) {
+            if (Gdx.input.isKeyPressed(Keys.LEFT) && !Gdx.input.isKeyPressed(Keys.RIGHT)) {
+                return -GameCharacter.DEFAULT_HORIZONTAL_SPEED;
+            } else if (Gdx.input.isKeyPressed(Keys.RIGHT) && !Gdx.input.isKeyPressed(Keys.LEFT)) {
+                return GameCharacter.DEFAULT_HORIZONTAL_SPEED;
+            } else {
+                return 0.0f;
+            }
+        } else if (Gdx.app.getType() == ApplicationType.Android) {
+            return -Gdx.input.getAccelerometerX() * ACCELEROMETER_SPEED_MULTIPLIER;
+        } else {
+            return 0.0f;
+        }
     }
     
     private void togglePause() {
@@ -222,6 +364,14 @@ public final class PlayScreen extends ScreenBase {
                 if (keycode == Keys.ESCAPE || keycode == Keys.BACK) {
                     mGame.setScreen(HellHopper.MAIN_MENU_SCREEN_NAME);
                     return true;
+                } else if (keycode == Keys.O) {
+                    mProfilerLabel.setVisible(!mProfilerLabel.isVisible());
+                    mProfilerRefreshCountdown = 0.0f;
+                    return true;
+                } else if (keycode == Keys.P) {
+                    mFrameProfiler.writeCsv(Gdx.files.local(PROFILE_CSV_FILE_NAME));
+                    mFrameProfiler.writeJson(Gdx.files.local(PROFILE_JSON_FILE_NAME));
+                    return true;
                 }
                 
                 return false;
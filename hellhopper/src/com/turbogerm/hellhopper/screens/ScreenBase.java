@@ -49,6 +49,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.turbogerm.hellhopper.GameData;
+import com.turbogerm.hellhopper.RenderContext;
 import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
 import com.turbogerm.hellhopper.init.InitData;
@@ -62,24 +63,37 @@ public abstract class ScreenBase implements Screen {
     protected final Skin mGuiSkin;
     protected final GameData mGameData;
     
+    private final int[] mAssetBundles;
+    
+    protected final RenderContext mRenderContext;
     protected final SpriteBatch mBatch;
     protected final Stage mGuiStage;
     
     protected Color mClearColor;
     
-    public ScreenBase(HellHopper game) {
+    // asset bundles are held for the lifetime of the screen and have to be loaded before it is created
+    public ScreenBase(HellHopper game, int[] assetBundles) {
         mGame = game;
         mInitData = mGame.getInitData();
         mResources = mGame.getResources();
+        mAssetBundles = assetBundles;
+        for (int i = 0; i < mAssetBundles.length; i++) {
+            mResources.acquire(mAssetBundles[i]);
+        }
+        
         mAssetManager = mResources.getAssetManager();
         mGuiSkin = mResources.getGuiSkin();
         mGameData = mGame.getGameData();
         
-        mBatch = new SpriteBatch();
-        mBatch.getProjectionMatrix().setToOrtho2D(0.0f, 0.0f,
-                HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT);
+        mRenderContext = mGame.getRenderContext();
+        mBatch = mRenderContext.getBatch();
         
-        mGuiStage = new Stage(HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT, false);
+        mGuiStage = new Stage(HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT, false, mBatch);
+    }
+    
+    // screens that are rarely shown are rebuilt on next use instead of staying in memory
+    public boolean isDisposedOnHide() {
+        return false;
     }
     
     protected String getName() {
@@ -130,8 +144,12 @@ public abstract class ScreenBase implements Screen {
     
     @Override
     public void dispose() {
+        // the batch is shared and not owned by the stage, so it stays alive
         mGuiStage.dispose();
-        mBatch.dispose();
+        
+        for (int i = 0; i < mAssetBundles.length; i++) {
+            mResources.release(mAssetBundles[i]);
+        }
     }
     
 }
\ No newline at end of file
@@ -25,6 +25,9 @@ package com.turbogerm.hellhopper.screens;
 
 import com.badlogic.gdx.Input.Buttons;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
@@ -33,20 +36,43 @@ import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.actions.SequenceAction;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.turbogerm.hellhopper.ResourceNames;
+import com.turbogerm.hellhopper.Resources;
 import com.turbogerm.hellhopper.HellHopper;
 
+// shown while the remaining assets load; leaves for the main menu as soon as it is available
 public final class SplashScreen extends ScreenBase {
     
+    public static final int[] ASSET_BUNDLES = { Resources.BUNDLE_SPLASH };
+    
+    private static final float FADE_DURATION = 0.5f;
+    
+    private static final float PROGRESS_BAR_WIDTH = 300.0f;
+    private static final float PROGRESS_BAR_HEIGHT = 12.0f;
+    private static final float PROGRESS_BAR_X = (HellHopper.VIEWPORT_WIDTH - PROGRESS_BAR_WIDTH) / 2.0f;
+    private static final float PROGRESS_BAR_Y = 80.0f;
+    private static final Color PROGRESS_BAR_BACKGROUND_COLOR = new Color(0.0f, 0.0f, 0.0f, 0.6f);
+    private static final Color PROGRESS_BAR_COLOR = new Color(1.0f, 0.5f, 0.0f, 1.0f);
+    
     private final Texture mBackgroundTexture;
+    private final Texture mProgressBarTexture;
     private final Image mBlackImage;
     
+    private boolean mIsFadeCompleted;
+    
     public SplashScreen(HellHopper game) {
-        super(game);
+        super(game, ASSET_BUNDLES);
         
         mGuiStage.addListener(getStageInputListener());
         
         mBackgroundTexture = mAssetManager.get(ResourceNames.GUI_BACKGROUND_TEXTURE);
         
+        // the skin is not loaded yet, so the bar gets its own white texture
+        Pixmap pixmap = new Pixmap(1, 1, Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        mProgressBarTexture = new Texture(pixmap);
+        pixmap.dispose();
+        
         Texture splashTexture = mAssetManager.get(ResourceNames.GUI_BLACK_TEXTURE);
         mBlackImage = new Image(splashTexture);
         mBlackImage.setBounds(0.0f, 0.0f, HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT);
@@ -60,17 +86,41 @@ public final class SplashScreen extends ScreenBase {
     public void show() {
         super.show();
         
+        mIsFadeCompleted = false;
         mBlackImage.clearActions();
-        SequenceAction action = Actions.sequence(
-                Actions.fadeOut(2.5f), Actions.delay(2.5f), Actions.fadeIn(1.5f), getCompletedAction());
+        SequenceAction action = Actions.sequence(Actions.fadeOut(FADE_DURATION), getCompletedAction());
         mBlackImage.addAction(action);
     }
     
     @Override
     public void renderImpl(float delta) {
-        mBatch.begin();
+        if (mIsFadeCompleted && mGame.isScreenAvailable(HellHopper.MAIN_MENU_SCREEN_NAME)) {
+            mGame.setScreen(HellHopper.MAIN_MENU_SCREEN_NAME);
+            return;
+        }
+        
+        mRenderContext.beginGui();
         mBatch.draw(mBackgroundTexture, 0.0f, 0.0f, HellHopper.VIEWPORT_WIDTH, HellHopper.VIEWPORT_HEIGHT);
-        mBatch.end();
+        
+        mBatch.setColor(PROGRESS_BAR_BACKGROUND_COLOR);
+        mBatch.draw(mProgressBarTexture, PROGRESS_BAR_X, PROGRESS_BAR_Y, PROGRESS_BAR_WIDTH, PROGRESS_BAR_HEIGHT);
+        mBatch.setColor(PROGRESS_BAR_COLOR);
+        mBatch.draw(mProgressBarTexture, PROGRESS_BAR_X, PROGRESS_BAR_Y,
+                PROGRESS_BAR_WIDTH * mResources.getProgress(), PROGRESS_BAR_HEIGHT);
+        mBatch.setColor(Color.WHITE);
+        
+        mRenderContext.end();
+    }
+    
+    @Override
+    public void dispose() {
+        super.dispose();
+        mProgressBarTexture.dispose();
+    }
+    
+    @Override
+    public boolean isDisposedOnHide() {
+        return true;
     }
     
     private Action getCompletedAction() {
@@ -78,7 +128,7 @@ public final class SplashScreen extends ScreenBase {
             
             @Override
             public boolean act(float delta) {
-                mGame.setScreen(HellHopper.MAIN_MENU_SCREEN_NAME);
+                mIsFadeCompleted = true;
                 return true;
             }
         };
@@ -90,7 +140,7 @@ public final class SplashScreen extends ScreenBase {
             @Override
             public boolean keyDown(InputEvent event, int keycode) {
                 if (keycode == Keys.ENTER || keycode == Keys.SPACE || keycode == Keys.ESCAPE) {
-                    mGame.setScreen(HellHopper.MAIN_MENU_SCREEN_NAME);
+                    mIsFadeCompleted = true;
                     return true;
                 }
                 
@@ -100,7 +150,7 @@ public final class SplashScreen extends ScreenBase {
             @Override
             public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
                 if (button == Buttons.LEFT || button == Buttons.RIGHT) {
-                    mGame.setScreen(HellHopper.MAIN_MENU_SCREEN_NAME);
+                    mIsFadeCompleted = true;
                     return true;
                 }
                 
@@ -108,4 +158,4 @@ public final class SplashScreen extends ScreenBase {
             }
         };
     }
-}
\ No newline at end of file
+}
@@ -25,8 +25,7 @@ package com.turbogerm.hellhopper.util;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 
 public final class GameUtils {
     
@@ -39,19 +38,16 @@ public final class GameUtils {
         return ((value % mod) + mod) % mod;
     }
     
-    public static Array<Integer> getRandomIndexes(int range, int numberOfIndexes) {
-        Array<Integer> selectedList = new Array<Integer>(numberOfIndexes);
+    public static IntArray getRandomIndexes(int range, int numberOfIndexes, SeededRandom random) {
+        IntArray selectedList = new IntArray(numberOfIndexes);
         
-        Array<Integer> availableList = new Array<Integer>(true, range);
-        for (int i = 0; i < range; i++) {
-            availableList.add(i);
-        }
+        // available indexes have weight 1, n-th available index is found without shifting a list
+        WeightedIndexSampler available = new WeightedIndexSampler(range, 1);
         
         for (int i = 0; i < numberOfIndexes; i++) {
-            int selectedIndex = MathUtils.random(availableList.size - 1);
-            int selected = availableList.get(selectedIndex);
+            int selected = available.sample(random);
             selectedList.add(selected);
-            availableList.removeIndex(selectedIndex);
+            available.setWeight(selected, 0);
         }
         
         selectedList.sort();
@@ -31,6 +31,7 @@ import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.utils.Array;
 
 public class ParticleEffectLoader extends
@@ -43,8 +44,19 @@ public class ParticleEffectLoader extends
     @Override
     public ParticleEffect load(AssetManager assetManager, String fileName,
             ParticleEffectParameter parameter) {
-        ParticleEffect effect = new ParticleEffect();
         FileHandle effectFile = resolve(fileName);
+        if (parameter != null && parameter.atlasFile != null) {
+            // sprites are atlas regions, the atlas owns and disposes their texture
+            ParticleEffect effect = new ParticleEffect() {
+                @Override
+                public void dispose() {
+                }
+            };
+            effect.load(effectFile, assetManager.get(parameter.atlasFile, TextureAtlas.class));
+            return effect;
+        }
+        
+        ParticleEffect effect = new ParticleEffect();
         FileHandle imgDir = effectFile.parent();
         effect.load(effectFile, imgDir);
         return effect;
@@ -54,10 +66,20 @@ public class ParticleEffectLoader extends
     @Override
     public Array<AssetDescriptor> getDependencies(String fileName,
             ParticleEffectParameter parameter) {
-        return null;
+        if (parameter == null || parameter.atlasFile == null) {
+            return null;
+        }
+        
+        Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
+        dependencies.add(new AssetDescriptor<TextureAtlas>(parameter.atlasFile, TextureAtlas.class));
+        return dependencies;
     }
     
     static public class ParticleEffectParameter extends AssetLoaderParameters<ParticleEffect> {
+        
+        // when set, emitter images are looked up in this atlas instead of the effect directory
+        public String atlasFile;
+        
         public ParticleEffectParameter() {
         }
     }
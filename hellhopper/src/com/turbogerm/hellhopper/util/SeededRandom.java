@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.util;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.MathUtils;
+
+// random source that remembers its seed; same seed always yields the same sequence
+public final class SeededRandom extends Random {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final long mSeed;
+    
+    public SeededRandom(long seed) {
+        super(seed);
+        mSeed = seed;
+    }
+    
+    // returns random number between 0 and range, inclusive
+    public int nextIntInclusive(int range) {
+        return nextInt(range + 1);
+    }
+    
+    // returns random number between start and end, inclusive
+    public int nextIntInclusive(int start, int end) {
+        return start + nextInt(end - start + 1);
+    }
+    
+    // returns random number between start (inclusive) and end (exclusive)
+    public float nextFloat(float start, float end) {
+        return start + nextFloat() * (end - start);
+    }
+    
+    public long getSeed() {
+        return mSeed;
+    }
+    
+    // returns well mixed seed for the index-th independent sequence derived from the seed
+    public static long getDerivedSeed(long seed, int index) {
+        // splitmix64 finalizer, nearby seeds and indexes still give unrelated sequences
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    // returns new, non reproducible seed
+    public static long createSeed() {
+        return MathUtils.random.nextLong();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2013 Goran Mrzljak
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.turbogerm.hellhopper.util;
+
+import java.util.Arrays;
+
+// picks indexes with probability proportional to their integer weights;
+// weights are kept in a fenwick tree, so sampling and changing a weight are O(log n)
+public final class WeightedIndexSampler {
+    
+    private final int mSize;
+    private final int[] mWeights;
+    // mTree[i] is the sum of weights of indexes in range [i - lowestBit(i), i), i is 1 based
+    private final int[] mTree;
+    private final int mHighestBit;
+    private int mTotalWeight;
+    
+    public WeightedIndexSampler(int[] weights) {
+        mSize = weights.length;
+        mWeights = new int[mSize];
+        mTree = new int[mSize + 1];
+        mHighestBit = mSize > 0 ? Integer.highestOneBit(mSize) : 0;
+        
+        // linear build, each node passes its sum on to its parent
+        for (int i = 0; i < mSize; i++) {
+            mWeights[i] = weights[i];
+            mTree[i + 1] += weights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= mSize) {
+                mTree[parent] += mTree[i + 1];
+            }
+            mTotalWeight += weights[i];
+        }
+    }
+    
+    // all indexes start with the same weight
+    public WeightedIndexSampler(int size, int weight) {
+        mSize = size;
+        mWeights = new int[mSize];
+        mTree = new int[mSize + 1];
+        mHighestBit = mSize > 0 ? Integer.highestOneBit(mSize) : 0;
+        
+        Arrays.fill(mWeights, weight);
+        for (int i = 1; i <= mSize; i++) {
+            mTree[i] = weight * (i & -i);
+        }
+        mTotalWeight = weight * mSize;
+    }
+    
+    public int getSize() {
+        return mSize;
+    }
+    
+    public int getWeight(int index) {
+        return mWeights[index];
+    }
+    
+    public void setWeight(int index, int weight) {
+        int delta = weight - mWeights[index];
+        if (delta == 0) {
+            return;
+        }
+        
+        mWeights[index] = weight;
+        mTotalWeight += delta;
+        for (int i = index + 1; i <= mSize; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+    
+    public int getTotalWeight() {
+        return mTotalWeight;
+    }
+    
+    // sum of weights of indexes below index
+    public int getPrefixWeight(int index) {
+        int prefixWeight = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            prefixWeight += mTree[i];
+        }
+        
+        return prefixWeight;
+    }
+    
+    // index whose weight range [prefix weight, prefix weight + weight) contains value;
+    // value must be in range [0, total weight)
+    public int find(int value) {
+        int index = 0;
+        for (int bit = mHighestBit; bit != 0; bit >>= 1) {
+            int next = index + bit;
+            if (next <= mSize && mTree[next] <= value) {
+                index = next;
+                value -= mTree[next];
+            }
+        }
+        
+        return index;
+    }
+    
+    public int sample(SeededRandom random) {
+        return find(random.nextInt(mTotalWeight));
+    }
+}